@@ -0,0 +1,161 @@
+package com.pizzeria.backend.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.pizzeria.backend.BackendApplication;
+import com.pizzeria.backend.model.User;
+import com.pizzeria.backend.model.UserBusinessRole;
+import com.pizzeria.backend.model.enums.Role;
+import com.pizzeria.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Carga sobre un request autenticado barato (GET /api/products con
+ * If-None-Match vigente -> 304, la carta sale de MenuCache): lo que queda es
+ * casi solo el costo de JwtAuthenticationFilter.
+ *
+ * principalCache=false reemplaza PrincipalCache por una que siempre llama al
+ * loader: cada request vuelve a cargar el usuario, como antes de la cache.
+ * (Un TTL mínimo no alcanza: los requests concurrentes esperan la misma carga.)
+ * Al final de cada iteración se imprimen los statements JDBC por request
+ * (Hibernate Statistics, de toda la aplicación).
+ *
+ * Corre sobre H2 en memoria (perfil test), sin latencia de red. Para medir
+ * contra PostgreSQL, agregar -jvmArgsAppend por propiedad:
+ * -Djmh.args="AuthFilterLoadBenchmark -jvmArgsAppend -Dspring.datasource.url=jdbc:postgresql://... -jvmArgsAppend ..."
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class AuthFilterLoadBenchmark {
+
+    @Param({"false", "true"})
+    private boolean principalCache;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+    private Statistics statistics;
+    private final LongAdder requests = new LongAdder();
+    private long statementsAtStart;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(BackendApplication.class);
+        if (!principalCache) {
+            application.sources(WithoutPrincipalCache.class)
+                    .properties("spring.main.allow-bean-definition-overriding=true");
+        }
+        context = application
+                .profiles("test")
+                .run("--server.port=0",
+                        "--management.server.port=-1",
+                        "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN");
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        User user = User.builder()
+                .firstName("Carga")
+                .lastName("Test")
+                .email("auth@pizzeria.test")
+                .password("-")
+                .roles(new ArrayList<>())
+                .build();
+        user.getRoles().add(UserBusinessRole.builder().user(user).businessId(1L).role(Role.OWNER).build());
+        String token = context.getBean(JwtService.class)
+                .generateTenantToken(context.getBean(UserRepository.class).save(user));
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        URI productsUri = URI.create("http://localhost:" + port + "/api/products?businessId=1");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        // Primer request: carga la carta en MenuCache y da el ETag vigente
+        String etag = client.send(HttpRequest.newBuilder(productsUri).header("Authorization", "Bearer " + token).build(),
+                HttpResponse.BodyHandlers.discarding()).headers().firstValue("ETag").orElseThrow();
+        request = HttpRequest.newBuilder(productsUri)
+                .header("Authorization", "Bearer " + token)
+                .header("If-None-Match", etag)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startCounting() {
+        requests.reset();
+        statementsAtStart = statistics.getPrepareStatementCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatementsPerRequest() {
+        long statements = statistics.getPrepareStatementCount() - statementsAtStart;
+        System.out.printf("%nstatements/request: %.2f (%d requests)%n",
+                (double) statements / Math.max(1, requests.sum()), requests.sum());
+    }
+
+    // Sin @Configuration para que el component scan no la levante en otros benchmarks
+    static class WithoutPrincipalCache {
+
+        @Bean
+        PrincipalCache principalCache(MeterRegistry meterRegistry) {
+            return new PrincipalCache(1, Duration.ofMinutes(1), meterRegistry) {
+                @Override
+                public UserDetails get(String subject, Date issuedAt, Supplier<UserDetails> loader) {
+                    return loader.get();
+                }
+            };
+        }
+    }
+
+    @Benchmark
+    public int notModified() throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 304) {
+            throw new IllegalStateException("GET /api/products respondió " + status);
+        }
+        requests.increment();
+        return status;
+    }
+}
@@ -0,0 +1,78 @@
+package com.pizzeria.backend.config;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Camino de validación del JWT que ejecuta JwtAuthenticationFilter en cada request.
+ *
+ * - perRequestParseOnce: flujo actual (parser y clave armados al inicio, una sola verificación)
+ * - perRequestLegacy: flujo anterior (extractUsername + isTokenValid = 3 verificaciones,
+ *   cada una armando un parser nuevo y decodificando la clave en Base64)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET_KEY, 86_400_000L);
+        userDetails = new User("cajero@pizzeria.com", "", List.of());
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean perRequestParseOnce() {
+        Claims claims = jwtService.parseToken(token);
+        return claims.getSubject() != null && jwtService.isTokenValid(claims, userDetails);
+    }
+
+    @Benchmark
+    public boolean perRequestLegacy() {
+        String username = legacyClaims(token).getSubject();
+        // isTokenValid: extractUsername + isTokenExpired (dos parseos más)
+        boolean valid = legacyClaims(token).getSubject().equals(userDetails.getUsername())
+                && !legacyClaims(token).getExpiration().before(new java.util.Date());
+        return username != null && valid;
+    }
+
+    // Réplica de la implementación anterior de extractAllClaims
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,161 @@
+package com.pizzeria.backend.controller;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.pizzeria.backend.BackendApplication;
+import com.pizzeria.backend.config.JwtService;
+import com.pizzeria.backend.model.Product;
+import com.pizzeria.backend.model.User;
+import com.pizzeria.backend.model.UserBusinessRole;
+import com.pizzeria.backend.model.enums.Role;
+import com.pizzeria.backend.repository.ProductRepository;
+import com.pizzeria.backend.repository.UserRepository;
+import com.pizzeria.backend.service.CashShiftService;
+
+/**
+ * Carga sobre POST /api/orders por HTTP, con la aplicación completa (Tomcat,
+ * seguridad JWT, bulkhead de la BD) sobre H2 en memoria (perfil test).
+ *
+ * virtualThreads alterna spring.threads.virtual.enabled. Los clientes (@Threads,
+ * se cambia con -t) superan a propósito los 200 hilos de Tomcat. Throughput da
+ * pedidos/s; SampleTime da los percentiles (p0.99) por request. Los contadores
+ * "created" / "rejected" cuentan 201 y 503 (bulkhead lleno).
+ *
+ * H2 en memoria no tiene latencia de red: mide el overhead de cada modo, no la
+ * espera de I/O contra PostgreSQL que es donde los virtual threads ganan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class OrderCreateLoadBenchmark {
+
+    // Varios negocios: con uno solo todos los pedidos compiten por el UPDATE de la misma caja
+    private static final int BUSINESSES = 8;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String token;
+    private URI ordersUri;
+    private final List<String> bodies = new ArrayList<>();
+    private final AtomicInteger nextClient = new AtomicInteger();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long created;
+        public long rejected;
+        int business;
+
+        @Setup(Level.Trial)
+        public void assignBusiness(OrderCreateLoadBenchmark benchmark) {
+            business = benchmark.nextClient.getAndIncrement() % BUSINESSES;
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            created = 0;
+            rejected = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--management.server.port=-1",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN");
+
+        User user = User.builder()
+                .firstName("Carga")
+                .lastName("Test")
+                .email("carga@pizzeria.test")
+                .password("-")
+                .roles(new ArrayList<>())
+                .build();
+        for (long businessId = 1; businessId <= BUSINESSES; businessId++) {
+            user.getRoles().add(UserBusinessRole.builder().user(user).businessId(businessId).role(Role.OWNER).build());
+        }
+        // Con los negocios en el token: si no, TenantResolver responde 403
+        token = context.getBean(JwtService.class).generateTenantToken(context.getBean(UserRepository.class).save(user));
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        CashShiftService cashShiftService = context.getBean(CashShiftService.class);
+        for (long businessId = 1; businessId <= BUSINESSES; businessId++) {
+            cashShiftService.openCashShift(businessId, BigDecimal.TEN);
+            Product product = productRepository.save(Product.builder()
+                    .businessId(businessId)
+                    .title("Muzza")
+                    .price(new BigDecimal("10.00"))
+                    .build());
+            bodies.add("""
+                    {"deliveryMethod":"PICKUP","paymentMethod":"CASH",\
+                    "items":[{"productId":%d,"quantity":2}]}""".formatted(product.getId()));
+        }
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        ordersUri = URI.create("http://localhost:" + port + "/api/orders?businessId=");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int createOrder(Responses responses) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(ordersUri.toString() + (responses.business + 1)))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(bodies.get(responses.business)))
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        switch (status) {
+            case 201 -> responses.created++;
+            case 503 -> responses.rejected++;
+            default -> throw new IllegalStateException("POST /api/orders respondió " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,89 @@
+package com.pizzeria.backend.mapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pizzeria.backend.dto.order.OrderResponse;
+import com.pizzeria.backend.model.Address;
+import com.pizzeria.backend.model.CashShift;
+import com.pizzeria.backend.model.Combo;
+import com.pizzeria.backend.model.Customer;
+import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.OrderItem;
+import com.pizzeria.backend.model.Product;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+
+/**
+ * OrderMapper.toResponse sobre un pedido ya cargado (sin BD):
+ * mide solo el costo de mapear el árbol del pedido a OrderResponse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "12", "50"})
+    private int itemCount;
+
+    private OrderMapper orderMapper;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        orderMapper = new OrderMapperImpl();
+
+        Customer customer = Customer.builder().id(1L).name("Juan Pérez").build();
+        order = Order.builder()
+                .id(100L)
+                .businessId(1L)
+                .customer(customer)
+                .address(Address.builder().id(2L).customer(customer).street("Av. Siempre Viva").number("742")
+                        .description("Timbre 3").build())
+                .cashShift(CashShift.builder().id(3L).build())
+                .orderStatus(OrderStatus.PREPARING)
+                .paymentStatus(PaymentStatus.PAID)
+                .paymentMethod(PaymentMethod.CARD)
+                .deliveryMethod(DeliveryMethod.DELIVERY)
+                .total(new BigDecimal("150.00"))
+                .createdAt(LocalDateTime.now())
+                .items(new ArrayList<>())
+                .build();
+
+        Product product = Product.builder().id(10L).title("Muzza").price(new BigDecimal("10.00")).build();
+        Combo combo = Combo.builder().id(20L).name("Combo Familiar").price(new BigDecimal("25.00")).build();
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = i % 3 == 0
+                    ? OrderItem.builder().combo(combo).unitPrice(combo.getPrice()).build()
+                    : OrderItem.builder().product(product).unitPrice(product.getPrice()).build();
+            item.setOrder(order);
+            item.setQuantity(1);
+            item.setSubtotal(item.getUnitPrice());
+            order.getItems().add(item);
+        }
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return orderMapper.toResponse(order);
+    }
+}
@@ -0,0 +1,170 @@
+package com.pizzeria.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pizzeria.backend.BackendApplication;
+import com.pizzeria.backend.model.CashShift;
+import com.pizzeria.backend.model.CashShift.CashShiftStatus;
+import com.pizzeria.backend.model.Expense;
+import com.pizzeria.backend.model.ExpenseItem;
+import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.OrderItem;
+import com.pizzeria.backend.model.Product;
+import com.pizzeria.backend.model.Supply;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+import com.pizzeria.backend.model.enums.SupplyCategory;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guardado de un pedido y de un gasto con sus ítems sobre H2 (perfil test).
+ *
+ * batchSize=0 reproduce el comportamiento previo (un INSERT por ítem). Los
+ * contadores "statements" / "saves" de cada iteración dan los round trips a
+ * la BD por pedido o gasto guardado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistRoundTripBenchmark {
+
+    private static final Long BUSINESS_ID = 1L;
+
+    @Param({"0", "50"})
+    private int batchSize;
+
+    // 10 = pedido típico, 60 = factura grande de proveedor
+    @Param({"10", "60"})
+    private int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private OrderRepository orderRepository;
+    private ExpenseRepository expenseRepository;
+    private Statistics statistics;
+    private CashShift cashShift;
+    private Product product;
+    private Supply supply;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long statements;
+        public long saves;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            saves = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // Como argumento (no default property) para que pise al application-test.yaml
+                .run("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        expenseRepository = context.getBean(ExpenseRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        cashShift = context.getBean(CashShiftRepository.class).save(CashShift.builder()
+                .businessId(BUSINESS_ID)
+                .status(CashShiftStatus.OPEN)
+                .startDate(LocalDateTime.now())
+                .startAmount(BigDecimal.TEN)
+                .build());
+        product = context.getBean(ProductRepository.class).save(Product.builder()
+                .businessId(BUSINESS_ID)
+                .title("Muzza")
+                .price(new BigDecimal("10.00"))
+                .build());
+        supply = context.getBean(SupplyRepository.class).save(Supply.builder()
+                .businessId(BUSINESS_ID)
+                .name("Harina")
+                .category(SupplyCategory.STOCK)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order saveOrder(RoundTrips roundTrips) {
+        Order order = Order.builder()
+                .businessId(BUSINESS_ID)
+                .cashShift(cashShift)
+                .orderStatus(OrderStatus.PENDING)
+                .paymentStatus(PaymentStatus.PENDING)
+                .deliveryMethod(DeliveryMethod.PICKUP)
+                .total(BigDecimal.ZERO)
+                .items(new ArrayList<>())
+                .build();
+        for (int i = 0; i < itemCount; i++) {
+            order.getItems().add(OrderItem.builder().order(order).product(product)
+                    .quantity(1).unitPrice(product.getPrice()).subtotal(product.getPrice()).build());
+        }
+        return countStatements(roundTrips, () -> orderRepository.save(order));
+    }
+
+    @Benchmark
+    public Expense saveExpense(RoundTrips roundTrips) {
+        Expense expense = Expense.builder()
+                .businessId(BUSINESS_ID)
+                .date(LocalDate.now())
+                .total(BigDecimal.ZERO)
+                .items(new ArrayList<>())
+                .build();
+        for (int i = 0; i < itemCount; i++) {
+            expense.getItems().add(ExpenseItem.builder().expense(expense).supply(supply)
+                    .quantity(1).unitPrice(new BigDecimal("15.00")).subtotal(new BigDecimal("15.00")).build());
+        }
+        return countStatements(roundTrips, () -> expenseRepository.save(expense));
+    }
+
+    // Una transacción por operación, como en OrderService / ExpenseService
+    private <T> T countStatements(RoundTrips roundTrips, Supplier<T> action) {
+        long before = statistics.getPrepareStatementCount();
+        T saved = transactionTemplate.execute(status -> action.get());
+        roundTrips.statements += statistics.getPrepareStatementCount() - before;
+        roundTrips.saves++;
+        return saved;
+    }
+}
@@ -0,0 +1,77 @@
+package com.pizzeria.backend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pizzeria.backend.dto.expense.ExpenseResponse;
+import com.pizzeria.backend.mapper.ExpenseItemMapperImpl;
+import com.pizzeria.backend.model.Expense;
+import com.pizzeria.backend.model.ExpenseItem;
+import com.pizzeria.backend.model.Supplier;
+import com.pizzeria.backend.model.Supply;
+import com.pizzeria.backend.model.enums.SupplyCategory;
+
+/**
+ * ExpenseService.mapToResponse sobre un gasto ya cargado (sin BD).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseMappingBenchmark {
+
+    // 60 = factura grande de proveedor
+    @Param({"1", "10", "60"})
+    private int itemCount;
+
+    private ExpenseService expenseService;
+    private Expense expense;
+
+    @Setup
+    public void setUp() {
+        // Solo se usa el mapeo: los repositorios no hacen falta
+        expenseService = new ExpenseService(null, null, null, null, new ExpenseItemMapperImpl());
+
+        expense = Expense.builder()
+                .id(1L)
+                .businessId(1L)
+                .supplier(Supplier.builder().id(2L).name("Distribuidor X").build())
+                .date(LocalDate.now())
+                .total(BigDecimal.ZERO)
+                .items(new ArrayList<>())
+                .build();
+
+        for (long i = 0; i < itemCount; i++) {
+            Supply supply = Supply.builder().id(i).name("Insumo " + i).category(SupplyCategory.STOCK).build();
+            expense.getItems().add(ExpenseItem.builder()
+                    .id(i)
+                    .expense(expense)
+                    .supply(supply)
+                    .quantity(5)
+                    .unitPrice(new BigDecimal("12.50"))
+                    .subtotal(new BigDecimal("62.50"))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public ExpenseResponse mapToResponse() {
+        return expenseService.mapToResponse(expense);
+    }
+}
@@ -0,0 +1,69 @@
+package com.pizzeria.backend.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pizzeria.backend.dto.order.OrderItemRequest;
+import com.pizzeria.backend.model.Combo;
+import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.Product;
+
+/**
+ * Cálculo de precios de createOrder (OrderCatalog.addItemsTo): armado de los
+ * OrderItem y suma del total a partir del catálogo ya resuelto en memoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    // 12 = pedido familiar típico de viernes
+    @Param({"1", "12", "50"})
+    private int itemCount;
+
+    private OrderCatalog catalog;
+    private List<OrderItemRequest> items;
+
+    @Setup
+    public void setUp() {
+        Map<Long, Product> products = new HashMap<>();
+        Map<Long, Combo> combos = new HashMap<>();
+        items = new ArrayList<>();
+
+        for (long i = 1; i <= itemCount; i++) {
+            if (i % 3 == 0) {
+                combos.put(i, Combo.builder().id(i).name("Combo " + i).price(new BigDecimal("25.50")).build());
+                items.add(new OrderItemRequest(null, i, 2));
+            } else {
+                products.put(i, Product.builder().id(i).title("Pizza " + i).price(new BigDecimal("10.75")).build());
+                items.add(new OrderItemRequest(i, null, 1));
+            }
+        }
+        catalog = new OrderCatalog(products, combos);
+    }
+
+    @Benchmark
+    public BigDecimal priceOrder() {
+        Order order = Order.builder().items(new ArrayList<>()).build();
+        return catalog.addItemsTo(order, items);
+    }
+}
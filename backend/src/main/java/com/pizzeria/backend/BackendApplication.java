@@ -2,8 +2,10 @@ package com.pizzeria.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // Heartbeat del tablero de pedidos en vivo (SSE)
 public class BackendApplication {
 
 	public static void main(String[] args) {
@@ -38,8 +38,8 @@ public class AuthenticationService {
         var user = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado"));
 
-        // 3. Generamos el token
-        var jwtToken = jwtService.generateToken(user);
+        // 3. Generamos el token (con sus negocios y roles: TenantResolver los valida sin ir a la BD)
+        var jwtToken = jwtService.generateTenantToken(user);
 
         return new AuthenticationResponse(jwtToken);
     }
@@ -62,8 +62,8 @@ public class AuthenticationService {
         
         // 3. Guardar en BD
         userRepository.save(user);
-        // 4. Generar Token
-        var jwtToken = jwtService.generateToken(user);
+        // 4. Generar Token (todavía sin negocios: el claim queda vacío)
+        var jwtToken = jwtService.generateTenantToken(user);
         
         // 5. Devolver Token
         return new AuthenticationResponse(jwtToken);
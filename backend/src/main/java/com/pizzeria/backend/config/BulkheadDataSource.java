@@ -0,0 +1,127 @@
+package com.pizzeria.backend.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que deja pasar como mucho maxConcurrent conexiones prestadas a la vez.
+ *
+ * Cada getConnection toma un permiso del semáforo y el close de esa conexión lo
+ * devuelve. Si no hay permiso en acquireTimeout falla con
+ * SQLTransientConnectionException (la transacción no arranca, ver
+ * GlobalExceptionHandler) en lugar de quedar encolado en el pool.
+ *
+ * El semáforo es justo (FIFO) y no usa synchronized: un virtual thread que espera
+ * acá libera su carrier.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutNanos;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public BulkheadDataSource(DataSource target, int maxConcurrent, Duration acquireTimeout) {
+        super(target);
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("El bulkhead de la BD necesita al menos 1 permiso");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guarded(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guarded(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    // Aproximado (Semaphore.getQueueLength): solo para métricas
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando conexión a la BD", ex);
+        }
+        rejected.incrementAndGet();
+        throw new SQLTransientConnectionException("Bulkhead de la BD lleno: "
+                + maxConcurrent + " conexiones en uso por más de " + Duration.ofNanos(acquireTimeoutNanos));
+    }
+
+    // Devuelve el permiso en el primer close (Hibernate puede cerrar dos veces)
+    private Connection guarded(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "close" -> {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        yield null;
+                    }
+                    default -> {
+                        try {
+                            yield method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    }
+                });
+    }
+}
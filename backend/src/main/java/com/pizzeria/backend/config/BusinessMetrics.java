@@ -0,0 +1,92 @@
+package com.pizzeria.backend.config;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.pizzeria.backend.service.OrderStatusChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/*
+Métricas de negocio (Micrometer), etiquetadas con businessId
+
+Los timers envuelven la llamada al servicio desde afuera (controller / filtro),
+así incluyen el commit: con inserts en batch, el flush pesa más que el resto.
+Solo se etiqueta un businessId ya validado por TenantResolver (el filtro JWT
+corre antes, por eso su timer no lleva el tag). La cantidad de valores de
+businessId está acotada (ver MetricsConfig).
+*/
+
+@Component
+@RequiredArgsConstructor
+public class BusinessMetrics {
+
+    public static final String PREFIX = "pizzeria.";
+    public static final String BUSINESS_TAG = "businessId";
+
+    public static final String ORDER_CREATE = PREFIX + "orders.create";
+    public static final String ORDER_STATUS_UPDATE = PREFIX + "orders.status.update";
+    public static final String ORDER_STATUS_BULK_UPDATE = PREFIX + "orders.status.bulk_update";
+    public static final String ORDER_STATUS_TRANSITIONS = PREFIX + "orders.status.transitions";
+    public static final String CASH_SHIFT_CLOSE = PREFIX + "cash_shifts.close";
+    public static final String EXPENSE_CREATE = PREFIX + "expenses.create";
+    public static final String JWT_FILTER = PREFIX + "auth.jwt_filter";
+
+    private final MeterRegistry registry;
+
+    /**
+     * Mide una operación; el tag outcome distingue las que terminaron con excepción
+     *
+     * @param name Nombre del timer (constantes de esta clase)
+     * @param businessId Negocio de la operación (puede ser null)
+     * @param operation Operación a medir
+     * @return Resultado de la operación
+     */
+    public <T> T time(String name, Long businessId, Supplier<T> operation) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = operation.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(timer(name, businessId, outcome));
+        }
+    }
+
+    // Sin businessId: para lo que corre antes de validar el negocio del request
+    public Timer timer(String name, String outcome) {
+        return Timer.builder(name)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    public Timer timer(String name, Long businessId, String outcome) {
+        return Timer.builder(name)
+                .tag(BUSINESS_TAG, businessTag(businessId))
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * AFTER_COMMIT: un cambio de estado que hace rollback no se cuenta
+     */
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent changed) {
+        Counter.builder(ORDER_STATUS_TRANSITIONS)
+                .tag(BUSINESS_TAG, businessTag(changed.businessId()))
+                .tag("from", changed.from())
+                .tag("to", changed.to().name())
+                .register(registry)
+                .increment(changed.count());
+    }
+
+    private static String businessTag(Long businessId) {
+        return businessId != null ? businessId.toString() : "none";
+    }
+}
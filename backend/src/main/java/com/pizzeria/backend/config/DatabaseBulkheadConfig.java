@@ -0,0 +1,68 @@
+package com.pizzeria.backend.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/*
+Bulkhead de la BD: un semáforo delante del pool de Hikari (BulkheadDataSource)
+
+Con spring.threads.virtual.enabled Tomcat deja de acotar los requests en curso
+(no hay pool de 200 hilos): sin este límite, miles de virtual threads piden
+conexión a la vez y esperan en Hikari hasta su connection-timeout (30s).
+Con el bulkhead esperan en un semáforo FIFO, como mucho acquire-timeout, y
+después el request falla rápido con 503.
+
+max-concurrent = tamaño del pool: el semáforo no agrega límite, solo decide
+quién espera, cuánto y cómo se ve (pizzeria.db.bulkhead.*).
+*/
+
+@Configuration
+@ConditionalOnProperty(name = "application.database.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadConfig {
+
+    static final String METRIC_PREFIX = BusinessMetrics.PREFIX + "db.bulkhead.";
+
+    // static: los BeanPostProcessor se crean antes que el resto de la configuración
+    @Bean
+    static BeanPostProcessor databaseBulkhead(
+            @Value("${application.database.bulkhead.max-concurrent}") int maxConcurrent,
+            @Value("${application.database.bulkhead.acquire-timeout}") Duration acquireTimeout
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder databaseBulkheadMetrics(DataSource dataSource) throws SQLException {
+        BulkheadDataSource bulkhead = dataSource.unwrap(BulkheadDataSource.class);
+        return registry -> {
+            Gauge.builder(METRIC_PREFIX + "max", bulkhead, BulkheadDataSource::getMaxConcurrent)
+                    .register(registry);
+            Gauge.builder(METRIC_PREFIX + "available", bulkhead, BulkheadDataSource::getAvailablePermits)
+                    .register(registry);
+            Gauge.builder(METRIC_PREFIX + "waiting", bulkhead, BulkheadDataSource::getWaiting)
+                    .register(registry);
+            FunctionCounter.builder(METRIC_PREFIX + "rejected", bulkhead, BulkheadDataSource::getRejected)
+                    .register(registry);
+        };
+    }
+}
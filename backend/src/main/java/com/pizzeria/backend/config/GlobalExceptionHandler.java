@@ -1,7 +1,10 @@
 package com.pizzeria.backend.config;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -31,6 +34,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    // businessId de un negocio que no está en el token (TenantResolver)
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex) {
+        ErrorResponse error = new ErrorResponse(
+            "ACCESS_DENIED",
+            ex.getMessage(),
+            403
+        );
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+    }
+
+    // Otro usuario modificó el registro (If-Match vencido o UPDATE ... WHERE version = ? sin filas): recargar y reintentar
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflict(OptimisticLockingFailureException ex) {
+        ErrorResponse error = new ErrorResponse(
+            "VERSION_CONFLICT",
+            "El registro fue modificado por otro usuario, recargue e intente de nuevo",
+            409
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationError(MethodArgumentNotValidException ex) {
         String message = ex.getBindingResult()
@@ -47,6 +72,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    // Sin conexión a la BD para arrancar la transacción (bulkhead lleno o BD caída): reintentar más tarde
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailable(CannotCreateTransactionException ex) {
+        ErrorResponse error = new ErrorResponse(
+            "DATABASE_UNAVAILABLE",
+            "No hay conexiones disponibles a la base de datos, reintente en unos segundos",
+            503
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         ErrorResponse error = new ErrorResponse(
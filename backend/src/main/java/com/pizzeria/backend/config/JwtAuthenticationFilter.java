@@ -11,6 +11,8 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,8 +24,10 @@ Se ejecuta en cada request
 Lee el header Authorization
 Extrae el JWT
 Valida el token
-Carga el usuario
+Carga el usuario (desde PrincipalCache; solo va a la BD si no está cacheado)
 Marca al usuario como autenticado
+Deja sus negocios (claim "biz") en el request para TenantResolver
+Mide cuánto tarda (BusinessMetrics.JWT_FILTER, sin contar el resto de la cadena)
 */
 
 @Component
@@ -32,6 +36,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService; // Interfaz de Spring para buscar usuarios
+    private final PrincipalCache principalCache;
+    private final BusinessMetrics metrics;
 
     @Override
     protected void doFilterInternal(
@@ -47,19 +53,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response); // Si no tiene, que siga (luego rebotará si la ruta es privada)
             return;
         }
+        Timer.Sample sample = Timer.start();
+        String outcome = "rejected";
         try {
-            // 2. Extraer token
+            // 2. Extraer token y verificarlo UNA sola vez (firma + expiración)
             String jwt = authHeader.substring(7);
-            String userEmail = jwtService.extractUsername(jwt);
+            Claims claims = jwtService.parseToken(jwt);
+            String userEmail = claims.getSubject();
 
             // 3. Si hay email y no está autenticado aún en el contexto
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 
-                // Buscar usuario en BD
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                // Buscar usuario (cache por email + emisión del token; si no está, va a la BD)
+                UserDetails userDetails = principalCache.get(userEmail, claims.getIssuedAt(),
+                        () -> this.userDetailsService.loadUserByUsername(userEmail));
+
+                // Validar token (con los claims ya verificados)
+                if (jwtService.isTokenValid(claims, userDetails)) {
+                    // Negocios del token: TenantResolver valida ?businessId= contra esto, sin ir a la BD
+                    request.setAttribute(TenantMemberships.REQUEST_ATTRIBUTE, TenantMemberships.fromClaims(claims));
 
-                // Validar token
-                if (jwtService.isTokenValid(jwt, userDetails)) {
                     // Crear objeto de autenticación
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
@@ -70,12 +83,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     
                     // MARCAR AL USUARIO COMO AUTENTICADO
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    outcome = "authenticated";
                 }
+            } else if (userEmail != null) {
+                outcome = "already_authenticated";
             }
         } catch (Exception e) {
             // Log the error but don't block the request - let Spring Security handle it
             logger.error("Cannot set user authentication: {}", e);
         }
+        sample.stop(metrics.timer(BusinessMetrics.JWT_FILTER, outcome));
         // Continuar la cadena
         filterChain.doFilter(request, response);
     }
@@ -11,7 +11,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.pizzeria.backend.model.User;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -22,25 +25,48 @@ Genera tokens JWT
 Extrae claims
 
 Valida tokens
+
+La clave HMAC y el parser se arman UNA vez al iniciar; cada request
+verifica la firma una sola vez (parseToken) y reutiliza los Claims.
 */
 
 @Service
 public class JwtService {
 
-    @Value("${application.security.jwt.secret-key}")
-    private String SECRET_KEY;
-    
-    @Value("${application.security.jwt.expiration}")
-    private long jwtExpiration;
+    private final SecretKey signInKey;
+    private final JwtParser jwtParser;
+    private final long jwtExpiration;
+
+    public JwtService(
+            @Value("${application.security.jwt.secret-key}") String secretKey,
+            @Value("${application.security.jwt.expiration}") long jwtExpiration
+    ) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parser() // parserBuilder() cambió a parser() en v0.12+
+                .verifyWith(signInKey) // setSigningKey() cambió a verifyWith()
+                .build(); // Inmutable y thread-safe: se comparte entre requests
+        this.jwtExpiration = jwtExpiration;
+    }
+
+    /**
+     * Verifica la firma y la expiración del token UNA sola vez y devuelve sus claims.
+     *
+     * @throws io.jsonwebtoken.JwtException si la firma no es válida o el token expiró
+     */
+    public Claims parseToken(String token) {
+        return jwtParser
+                .parseSignedClaims(token) // parseClaimsJws cambió a parseSignedClaims
+                .getPayload(); // getBody() cambió a getPayload()
+    }
 
     // Extraer el username (email) del token
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
-    // Generar token CON claims extra (Aquí meteremos el BusinessID luego)
+    // Extraer un claim cualquiera (las membresías se leen con TenantMemberships.fromClaims)
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
 
@@ -49,39 +75,33 @@ public class JwtService {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    // Generar token con los negocios y roles del usuario (claim "biz", ver TenantMemberships)
+    public String generateTenantToken(User user) {
+        return generateToken(Map.of(TenantMemberships.CLAIM, TenantMemberships.of(user).toClaim()), user);
+    }
+
+    // Generar token CON claims extra
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return Jwts.builder()
                 .claims(extraClaims) // Sintaxis actualizada
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration)) 
-                .signWith(getSignInKey(), Jwts.SIG.HS256) // Sintaxis actualizada: Jwts.SIG
+                .signWith(signInKey, Jwts.SIG.HS256) // Sintaxis actualizada: Jwts.SIG
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return isTokenValid(parseToken(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser() // parserBuilder() cambió a parser() en v0.12+
-                .verifyWith(getSignInKey()) // setSigningKey() cambió a verifyWith()
-                .build()
-                .parseSignedClaims(token) // parseClaimsJws cambió a parseSignedClaims
-                .getPayload(); // getBody() cambió a getPayload()
+    // Valida claims ya verificados (sin volver a parsear ni verificar la firma)
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername())) && !isTokenExpired(claims);
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 }
@@ -0,0 +1,48 @@
+package com.pizzeria.backend.config;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+/*
+Límite de cardinalidad del tag businessId
+
+Cada negocio nuevo agrega una serie por métrica en Prometheus. Los primeros
+max-values negocios vistos conservan su tag; los demás se agrupan en
+businessId="other" (se siguen contando, pero sin multiplicar las series).
+*/
+
+@Configuration
+public class MetricsConfig {
+
+    static final String OVERFLOW = "other";
+
+    @Bean
+    public MeterFilter businessTagCardinalityLimit(
+            @Value("${application.metrics.business-tag.max-values}") int maxValues
+    ) {
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                String businessId = id.getTag(BusinessMetrics.BUSINESS_TAG);
+                if (businessId == null || !id.getName().startsWith(BusinessMetrics.PREFIX)) {
+                    return id;
+                }
+                // Carrera benigna: por concurrencia se pueden colar unos pocos valores de más
+                if (seen.contains(businessId) || (seen.size() < maxValues && seen.add(businessId))) {
+                    return id;
+                }
+                // Tags.and reemplaza el valor de una clave existente
+                return id.replaceTags(Tags.of(id.getTagsAsIterable()).and(BusinessMetrics.BUSINESS_TAG, OVERFLOW));
+            }
+        };
+    }
+}
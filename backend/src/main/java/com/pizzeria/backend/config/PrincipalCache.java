@@ -0,0 +1,89 @@
+package com.pizzeria.backend.config;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.pizzeria.backend.model.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/*
+Cache de usuarios ya autenticados por JWT
+
+Evita repetir findByEmail (+ roles EAGER) en cada request.
+Clave: subject (email) + fecha de emisión del token.
+Acotada en tamaño y con TTL; se invalida cuando cambia el usuario o sus roles
+después del commit (ver UserCacheInvalidationListener).
+Hits / misses / evictions se publican como cache_* con cache="principal".
+*/
+
+@Component
+public class PrincipalCache {
+
+    private final Cache<Key, UserDetails> cache;
+
+    // Claves cacheadas de cada subject (un usuario puede tener varios tokens vigentes),
+    // para invalidar sin recorrer toda la cache
+    private final Map<String, Set<Key>> keysBySubject = new ConcurrentHashMap<>();
+
+    public PrincipalCache(
+            @Value("${application.security.principal-cache.max-size}") long maxSize,
+            @Value("${application.security.principal-cache.ttl}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                // Corre dentro de la operación que expulsa la entrada (tamaño / TTL), así el índice no queda atrás
+                .evictionListener((Key key, UserDetails value, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principal");
+    }
+
+    // Devuelve el usuario cacheado o lo carga con loader (si falla, no se cachea nada).
+    // La clave se indexa ANTES de leer la BD: una invalidación que llega durante la carga
+    // la encuentra, espera a que termine y la descarta
+    public UserDetails get(String subject, Date issuedAt, Supplier<UserDetails> loader) {
+        long issuedAtMillis = issuedAt != null ? issuedAt.getTime() : 0L;
+        return cache.get(new Key(subject, issuedAtMillis), key -> {
+            keysBySubject.computeIfAbsent(subject, s -> ConcurrentHashMap.newKeySet()).add(key);
+            try {
+                return loader.get();
+            } catch (RuntimeException ex) {
+                unindex(key);
+                throw ex;
+            }
+        });
+    }
+
+    // Borra todas las entradas de un usuario (todos sus tokens).
+    // El subject es el email, que no se modifica una vez registrado el usuario
+    public void invalidate(User user) {
+        Set<Key> keys = keysBySubject.remove(user.getEmail());
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    private void unindex(Key key) {
+        keysBySubject.computeIfPresent(key.subject(), (subject, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private record Key(String subject, long issuedAt) {}
+}
@@ -0,0 +1,98 @@
+package com.pizzeria.backend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+/*
+Chequeo de arranque del perfil prod
+
+Corre como BeanFactoryPostProcessor: antes de crear cualquier bean (pool de
+conexiones, Flyway, Tomcat). Si queda activa alguna opción de desarrollo
+(heredada de application.yaml o pasada por variable de entorno) la aplicación
+no arranca y el error lista todas juntas.
+*/
+
+@Component
+@Profile("prod")
+public class ProductionSettingsGuard implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private static final Set<String> SCHEMA_MANAGED_BY_FLYWAY = Set.of("validate", "none");
+    private static final Set<String> VERBOSE_LOG_LEVELS = Set.of("DEBUG", "TRACE", "ALL");
+
+    // Credenciales del docker-compose de desarrollo
+    static final String DEV_PASSWORD = "postgres";
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        List<String> devOnly = devOnlySettings(environment);
+        if (!devOnly.isEmpty()) {
+            throw new IllegalStateException("Configuración de desarrollo con el perfil prod activo: "
+                    + String.join("; ", devOnly));
+        }
+    }
+
+    /**
+     * Opciones que no pueden quedar activas en producción
+     *
+     * @param environment Entorno ya resuelto (perfiles + variables)
+     * @return Una descripción por cada opción encontrada (vacía si no hay ninguna)
+     */
+    static List<String> devOnlySettings(Environment environment) {
+        List<String> found = new ArrayList<>();
+
+        if (environment.acceptsProfiles(Profiles.of("test", "dev"))) {
+            found.add("perfil de desarrollo activo junto con prod");
+        }
+        if (isTrue(environment, "spring.jpa.show-sql")) {
+            found.add("spring.jpa.show-sql=true");
+        }
+        if (isTrue(environment, "spring.jpa.properties.hibernate.format_sql")) {
+            found.add("hibernate.format_sql=true");
+        }
+        // Sin configurar, Spring Boot lo deja activado
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            found.add("spring.jpa.open-in-view no está en false");
+        }
+        String ddlAuto = environment.getProperty("spring.jpa.hibernate.ddl-auto", "none");
+        if (!SCHEMA_MANAGED_BY_FLYWAY.contains(ddlAuto)) {
+            found.add("spring.jpa.hibernate.ddl-auto=" + ddlAuto + " (el esquema lo maneja Flyway)");
+        }
+        String url = environment.getProperty("spring.datasource.url", "");
+        if (url.startsWith("jdbc:h2:")) {
+            found.add("spring.datasource.url apunta a H2");
+        }
+        if (DEV_PASSWORD.equals(environment.getProperty("spring.datasource.password"))) {
+            found.add("spring.datasource.password es la de desarrollo");
+        }
+        if (isTrue(environment, "spring.h2.console.enabled")) {
+            found.add("spring.h2.console.enabled=true");
+        }
+        for (String logger : List.of("org.hibernate.SQL", "org.hibernate.orm.jdbc.bind")) {
+            String level = environment.getProperty("logging.level." + logger, "");
+            if (VERBOSE_LOG_LEVELS.contains(level.toUpperCase())) {
+                found.add("logging.level." + logger + "=" + level);
+            }
+        }
+        return found;
+    }
+
+    private static boolean isTrue(Environment environment, String property) {
+        return environment.getProperty(property, Boolean.class, false);
+    }
+}
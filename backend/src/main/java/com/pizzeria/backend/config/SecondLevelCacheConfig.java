@@ -0,0 +1,65 @@
+package com.pizzeria.backend.config;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/*
+Cache de segundo nivel de Hibernate (JCache + Caffeine, local a la instancia)
+
+Cachea los datos de referencia de cada negocio, que se leen mucho más de lo
+que se escriben: Product, Combo (+ items), Supply, Supplier, Customer (+ direcciones).
+Cada entidad declara su región con @Cache; acá se crea cada región con el tamaño
+definido en application.cache.second-level.regions. Una región sin configurar
+hace fallar el arranque (missing_cache_strategy = fail), así nunca queda un cache sin límite.
+*/
+
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // URI propia: el CacheManager por defecto es global a la JVM y un segundo contexto
+        // de Spring (ej: tests) chocaría con las regiones ya creadas
+        URI uri = URI.create("pizzeria-second-level-" + UUID.randomUUID());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        properties.regions().forEach((region, maxSize) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(properties.ttl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        });
+
+        // Timestamps del query cache: sin límite ni TTL (si se pierde uno, una query cacheada podría quedar vieja)
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.pizzeria.backend.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración de las regiones del cache de segundo nivel (application.cache.second-level)
+ *
+ * @param ttl Tiempo de vida de cada entrada (igual para todas las regiones)
+ * @param regions Máximo de entradas por región (nombre de región -> tamaño)
+ */
+@ConfigurationProperties(prefix = "application.cache.second-level")
+public record SecondLevelCacheProperties(
+    Duration ttl,
+    Map<String, Long> regions
+) {}
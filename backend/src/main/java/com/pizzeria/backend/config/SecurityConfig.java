@@ -2,6 +2,9 @@ package com.pizzeria.backend.config;
 
 import java.util.Arrays;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -33,6 +36,8 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable) // Desactivar CSRF (no necesario en APIs REST stateless)
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll() // RUTAS PÚBLICAS
+                // Health y scrape de Prometheus: solo en el puerto de management (8081, red interna)
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
                 .anyRequest().authenticated() // EL RESTO REQUIERE TOKEN
             )
             .sessionManagement(session -> session
@@ -49,7 +54,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:5173")); // Frontend Vite
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Last-Event-ID", "If-None-Match", "If-Match", "Idempotency-Key"));
+        configuration.setExposedHeaders(Arrays.asList("ETag", "Idempotent-Replayed"));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,75 @@
+package com.pizzeria.backend.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.pizzeria.backend.model.User;
+import com.pizzeria.backend.model.UserBusinessRole;
+import com.pizzeria.backend.model.enums.Role;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Negocios a los que pertenece el usuario del token, con su rol en cada uno.
+ *
+ * Viaja en el claim "biz" del JWT como {"<businessId>": "<rol>"}: validar el
+ * businessId de un request no necesita consultar user_business_roles.
+ * Es una foto del momento del login: un cambio de roles se ve en el próximo token.
+ */
+public record TenantMemberships(Map<Long, Role> roles) {
+
+    public static final String CLAIM = "biz";
+
+    // JwtAuthenticationFilter lo deja en el request para TenantResolver
+    public static final String REQUEST_ATTRIBUTE = TenantMemberships.class.getName();
+
+    public static final TenantMemberships NONE = new TenantMemberships(Map.of());
+
+    public TenantMemberships {
+        roles = Collections.unmodifiableMap(new HashMap<>(roles));
+    }
+
+    public static TenantMemberships of(User user) {
+        List<UserBusinessRole> userRoles = user.getRoles() != null ? user.getRoles() : List.of();
+        Map<Long, Role> roles = new HashMap<>();
+        for (UserBusinessRole userRole : userRoles) {
+            roles.put(userRole.getBusinessId(), userRole.getRole());
+        }
+        return new TenantMemberships(roles);
+    }
+
+    /**
+     * Lee el claim de un token ya verificado
+     *
+     * @param claims Claims con la firma ya validada (JwtService.parseToken)
+     * @return Membresías del token (NONE si el token no trae el claim)
+     * @throws IllegalArgumentException si el claim no tiene el formato esperado
+     */
+    public static TenantMemberships fromClaims(Claims claims) {
+        Object claim = claims.get(CLAIM);
+        if (claim == null) {
+            return NONE;
+        }
+        if (!(claim instanceof Map<?, ?> entries)) {
+            throw new IllegalArgumentException("Claim " + CLAIM + " inválido");
+        }
+        Map<Long, Role> roles = new HashMap<>();
+        entries.forEach((businessId, role) ->
+                roles.put(Long.valueOf(businessId.toString()), Role.valueOf(role.toString())));
+        return new TenantMemberships(roles);
+    }
+
+    public Map<String, String> toClaim() {
+        Map<String, String> claim = new LinkedHashMap<>();
+        roles.forEach((businessId, role) -> claim.put(businessId.toString(), role.name()));
+        return claim;
+    }
+
+    public Optional<Role> roleIn(Long businessId) {
+        return Optional.ofNullable(roles.get(businessId));
+    }
+}
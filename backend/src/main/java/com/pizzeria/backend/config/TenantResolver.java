@@ -0,0 +1,58 @@
+package com.pizzeria.backend.config;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+Aislamiento entre negocios
+
+Todos los endpoints reciben ?businessId=. Antes de llegar al controller se
+verifica que el usuario pertenezca a ese negocio, con las membresías que
+JwtAuthenticationFilter leyó del token (TenantMemberships): cero queries.
+Sin membresía: 403 (GlobalExceptionHandler).
+
+Un request sin businessId pasa tal cual: si el endpoint lo requiere, Spring
+responde 400 igual que antes.
+*/
+
+@Component
+public class TenantResolver implements HandlerInterceptor {
+
+    public static final String BUSINESS_PARAM = "businessId";
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler
+    ) {
+        String[] values = request.getParameterValues(BUSINESS_PARAM);
+        if (values == null) {
+            return true;
+        }
+        TenantMemberships memberships = memberships(request);
+        for (String value : values) {
+            Long businessId;
+            try {
+                businessId = Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("businessId inválido: " + value);
+            }
+            if (memberships.roleIn(businessId).isEmpty()) {
+                throw new AccessDeniedException("Sin acceso al negocio " + businessId);
+            }
+        }
+        return true;
+    }
+
+    private static TenantMemberships memberships(HttpServletRequest request) {
+        return request.getAttribute(TenantMemberships.REQUEST_ATTRIBUTE) instanceof TenantMemberships memberships
+                ? memberships
+                : TenantMemberships.NONE;
+    }
+}
@@ -0,0 +1,60 @@
+package com.pizzeria.backend.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pizzeria.backend.model.User;
+import com.pizzeria.backend.model.UserBusinessRole;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/*
+Listener JPA de User y UserBusinessRole
+
+Cuando un usuario o sus roles cambian, lo saca de PrincipalCache para que
+el próximo request vuelva a leerlo de la BD.
+Los callbacks corren en el flush, antes del commit: la invalidación se difiere
+al afterCommit de la transacción. Si se hiciera en el flush, un request
+concurrente podría volver a cachear los datos viejos (todavía sin confirmar)
+hasta el TTL. Si la transacción hace rollback, la cache sigue siendo válida.
+Hibernate lo instancia a través del contenedor de Spring (por eso puede recibir dependencias);
+ObjectProvider permite que funcione también en contextos sin la cache (ej: @DataJpaTest).
+*/
+
+@RequiredArgsConstructor
+public class UserCacheInvalidationListener {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            invalidateAfterCommit(user);
+        } else if (entity instanceof UserBusinessRole role && role.getUser() != null) {
+            invalidateAfterCommit(role.getUser());
+        }
+    }
+
+    private void invalidateAfterCommit(User user) {
+        PrincipalCache cache = principalCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(user);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidate(user);
+            }
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.pizzeria.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final TenantResolver tenantResolver;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // /api/auth es público: no hay token ni negocio que validar
+        registry.addInterceptor(tenantResolver)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/auth/**");
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.pizzeria.backend.config.BusinessMetrics;
 import com.pizzeria.backend.dto.cashshift.CashShiftRequest;
 import com.pizzeria.backend.dto.cashshift.CashShiftResponse;
 import com.pizzeria.backend.dto.cashshift.CloseCashShiftRequest;
@@ -33,6 +34,7 @@ public class CashShiftController {
 
     private final CashShiftService cashShiftService;
     private final CashShiftMapper cashShiftMapper;
+    private final BusinessMetrics metrics;
 
     /**
      * Abre una nueva caja para un negocio
@@ -64,7 +66,8 @@ public class CashShiftController {
             @RequestParam Long businessId,
             @RequestBody @Valid CloseCashShiftRequest request
     ) {
-        CashShift cashShift = cashShiftService.closeCashShift(businessId, request.endAmount());
+        CashShift cashShift = metrics.time(BusinessMetrics.CASH_SHIFT_CLOSE, businessId,
+                () -> cashShiftService.closeCashShift(businessId, request.endAmount()));
         return ResponseEntity.ok(cashShiftMapper.toResponse(cashShift));
     }
 
@@ -2,6 +2,7 @@ package com.pizzeria.backend.controller;
 
 import java.util.List;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,10 +13,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.pizzeria.backend.dto.combo.ComboRequest;
 import com.pizzeria.backend.dto.combo.ComboResponse;
 import com.pizzeria.backend.service.ComboService;
+import com.pizzeria.backend.service.MenuCache;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +29,7 @@ import lombok.RequiredArgsConstructor;
 public class ComboController {
 
     private final ComboService comboService;
+    private final MenuCache menuCache;
 
     @PostMapping
     public ResponseEntity<ComboResponse> create(
@@ -36,9 +40,20 @@ public class ComboController {
                 .body(comboService.createCombo(businessId, request));
     }
 
+    // Igual que GET /api/products: snapshot de MenuCache + ETag / If-None-Match
     @GetMapping
-    public ResponseEntity<List<ComboResponse>> getAll(@RequestParam Long businessId) {
-        return ResponseEntity.ok(comboService.getAllCombos(businessId));
+    public ResponseEntity<List<ComboResponse>> getAll(
+            @RequestParam Long businessId,
+            WebRequest webRequest
+    ) {
+        MenuCache.Snapshot<ComboResponse> menu = menuCache.combos(businessId);
+        if (webRequest.checkNotModified(menu.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(menu.etag())
+                .body(menu.items());
     }
 
     @DeleteMapping("/{id}")
@@ -15,6 +15,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.pizzeria.backend.config.BusinessMetrics;
+import com.pizzeria.backend.dto.common.CursorPage;
 import com.pizzeria.backend.dto.expense.ExpenseRequest;
 import com.pizzeria.backend.dto.expense.ExpenseResponse;
 import com.pizzeria.backend.service.ExpenseService;
@@ -28,6 +30,7 @@ import lombok.RequiredArgsConstructor;
  * Endpoints:
  *  POST   /api/expenses                          - Crear gasto con items
  *  GET    /api/expenses                          - Listar gastos
+ *  GET    /api/expenses/page                     - Listar gastos paginados (cursor)
  *  GET    /api/expenses/{id}                     - Obtener gasto específico
  *  PUT    /api/expenses/{id}                     - Editar gasto
  *  DELETE /api/expenses/{id}                     - Borrar gasto
@@ -40,6 +43,7 @@ import lombok.RequiredArgsConstructor;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final BusinessMetrics metrics;
 
     /**
      * CREAR un nuevo gasto con sus líneas detalladas
@@ -60,7 +64,8 @@ public class ExpenseController {
             @RequestParam Long businessId,
             @RequestBody @Valid ExpenseRequest request
     ) {
-        ExpenseResponse response = expenseService.createExpense(businessId, request);
+        ExpenseResponse response = metrics.time(BusinessMetrics.EXPENSE_CREATE, businessId,
+                () -> expenseService.createExpense(businessId, request));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -76,6 +81,20 @@ public class ExpenseController {
         return ResponseEntity.ok(expenses);
     }
 
+    /**
+     * LEER gastos paginados (más recientes primero)
+     * GET /api/expenses/page?businessId=1&size=50
+     * Para la siguiente página se reenvía el nextCursor recibido: &cursor=...
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ExpenseResponse>> getPage(
+            @RequestParam Long businessId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(expenseService.getExpensePage(businessId, cursor, size));
+    }
+
     /**
      * LEER un gasto específico con sus items
      * GET /api/expenses/5?businessId=1
@@ -1,8 +1,12 @@
 package com.pizzeria.backend.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -10,15 +14,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.pizzeria.backend.config.BusinessMetrics;
+import com.pizzeria.backend.dto.common.CursorPage;
+import com.pizzeria.backend.dto.order.BulkOrderStatusRequest;
+import com.pizzeria.backend.dto.order.BulkOrderStatusResponse;
 import com.pizzeria.backend.dto.order.CreateOrderRequest;
+import com.pizzeria.backend.dto.order.OrderHistoryFilter;
 import com.pizzeria.backend.dto.order.OrderResponse;
 import com.pizzeria.backend.dto.order.UpdateOrderDetailsRequest;
 import com.pizzeria.backend.dto.order.UpdateOrderStatusRequest;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+import com.pizzeria.backend.service.OrderEventStream;
 import com.pizzeria.backend.service.OrderService;
+import com.pizzeria.backend.service.OrderSubmissionService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,15 +44,29 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class OrderController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderSubmissionService orderSubmissionService;
+    private final OrderEventStream orderEventStream;
+    private final BusinessMetrics metrics;
 
+    // POST /api/orders?businessId=1 con header opcional Idempotency-Key: <uuid generado por el cliente>
+    // Un reintento con la misma clave devuelve el mismo pedido (sin crear otro) y el header Idempotent-Replayed: true
     @PostMapping
     public ResponseEntity<OrderResponse> create(
             @RequestParam Long businessId,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody @Valid CreateOrderRequest request
     ) {
-        OrderResponse response = orderService.createOrder(businessId, request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        OrderSubmissionService.Submission submission = metrics.time(BusinessMetrics.ORDER_CREATE, businessId,
+                () -> orderSubmissionService.submit(businessId, request, idempotencyKey));
+        var response = ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(submission.order()));
+        if (submission.replayed()) {
+            response.header(REPLAYED_HEADER, "true");
+        }
+        return response.body(submission.order());
     }
 
     @GetMapping
@@ -46,20 +76,60 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getAllOrders(businessId));
     }
 
+    // GET /api/orders/stream?businessId=1 (text/event-stream)
+    // Envía eventos "order" (CREATED / UPDATED) con el pedido actualizado.
+    // Al reconectar, el header Last-Event-ID reanuda desde el último evento recibido;
+    // si ya no se puede, llega un evento "resync" y hay que recargar GET /api/orders.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam Long businessId,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return orderEventStream.subscribe(businessId, lastEventId);
+    }
+
+    // GET /api/orders/historic?businessId=1&size=50&orderStatus=DELIVERED&from=2026-01-01T00:00:00
+    // Para la siguiente página se reenvía el nextCursor recibido: &cursor=...
     @GetMapping("/historic")
-    public ResponseEntity<List<OrderResponse>> getAllHistoric(
-            @RequestParam Long businessId
+    public ResponseEntity<CursorPage<OrderResponse>> getHistoric(
+            @RequestParam Long businessId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) OrderStatus orderStatus,
+            @RequestParam(required = false) PaymentMethod paymentMethod,
+            @RequestParam(required = false) DeliveryMethod deliveryMethod,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
     ) {
-        return ResponseEntity.ok(orderService.getAllOrdersHistoric(businessId));
+        OrderHistoryFilter filter = new OrderHistoryFilter(orderStatus, paymentMethod, deliveryMethod, customerId, from, to);
+        return ResponseEntity.ok(orderService.getOrderHistory(businessId, filter, cursor, size));
     }
 
+    // PUT /api/orders/5?businessId=1 con header opcional If-Match: "3" (ETag recibido del pedido)
+    // Si el pedido cambió desde entonces -> 409 y no se aplica nada. La respuesta trae el nuevo ETag.
     @PutMapping("/{id}")
     public ResponseEntity<OrderResponse> updateStatus(
             @PathVariable Long id,
             @RequestParam Long businessId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid UpdateOrderStatusRequest request
     ) {
-        OrderResponse response = orderService.updateOrderStatus(businessId, id, request);
+        Long expectedVersion = expectedVersion(ifMatch);
+        OrderResponse response = metrics.time(BusinessMetrics.ORDER_STATUS_UPDATE, businessId,
+                () -> orderService.updateOrderStatus(businessId, id, request, expectedVersion));
+        return ResponseEntity.ok().eTag(eTag(response)).body(response);
+    }
+
+    // PATCH /api/orders/status?businessId=1  {"orderIds": [1, 2, 3], "orderStatus": "READY"}
+    // Responde solo los pedidos que cambiaron, con su nueva versión
+    @PatchMapping("/status")
+    public ResponseEntity<BulkOrderStatusResponse> updateStatuses(
+            @RequestParam Long businessId,
+            @RequestBody @Valid BulkOrderStatusRequest request
+    ) {
+        BulkOrderStatusResponse response = metrics.time(BusinessMetrics.ORDER_STATUS_BULK_UPDATE, businessId,
+                () -> orderService.updateOrderStatuses(businessId, request));
         return ResponseEntity.ok(response);
     }
 
@@ -67,9 +137,31 @@ public class OrderController {
     public ResponseEntity<OrderResponse> updateDetails(
             @PathVariable Long id,
             @RequestParam Long businessId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid UpdateOrderDetailsRequest request
     ) {
-        OrderResponse response = orderService.updateOrderDetails(businessId, id, request);
-        return ResponseEntity.ok(response);
+        OrderResponse response = orderService.updateOrderDetails(businessId, id, request, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(response)).body(response);
+    }
+
+    // ETag fuerte de un pedido: su versión ("3")
+    private static String eTag(OrderResponse order) {
+        return "\"" + order.version() + "\"";
+    }
+
+    // If-Match: "3" -> 3. Sin header o "*": sin control de versión
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.strip();
+        if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match inválido: " + ifMatch);
+        }
     }
 }
\ No newline at end of file
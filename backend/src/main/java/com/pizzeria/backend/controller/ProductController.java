@@ -2,6 +2,7 @@ package com.pizzeria.backend.controller;
 
 import java.util.List;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,10 +14,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.pizzeria.backend.dto.product.ProductRequest;
 import com.pizzeria.backend.dto.product.ProductResponse;
 import com.pizzeria.backend.service.ProductService;
+import com.pizzeria.backend.service.MenuCache;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +30,7 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 
     private final ProductService productService;
+    private final MenuCache menuCache;
 
     // --- CREAR ---
     // POST /api/products?businessId=1
@@ -41,12 +45,20 @@ public class ProductController {
 
     // --- LEER TODOS ---
     // GET /api/products?businessId=1
+    // Sale de MenuCache con ETag: si el cliente manda If-None-Match vigente -> 304 sin cuerpo
     @GetMapping
     public ResponseEntity<List<ProductResponse>> getAll(
-            @RequestParam Long businessId
+            @RequestParam Long businessId,
+            WebRequest webRequest
     ) {
-        List<ProductResponse> products = productService.getAllProducts(businessId);
-        return ResponseEntity.ok(products);
+        MenuCache.Snapshot<ProductResponse> menu = menuCache.products(businessId);
+        if (webRequest.checkNotModified(menu.etag())) {
+            return null; // Spring ya respondió 304 Not Modified
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache()) // El navegador guarda la copia pero revalida siempre
+                .eTag(menu.etag())
+                .body(menu.items());
     }
 
     // --- EDITAR ---
@@ -0,0 +1,12 @@
+package com.pizzeria.backend.dto.cache;
+
+/**
+ * Estadísticas de una región de cache (entidad, colección o query)
+ */
+public record CacheRegionStats(
+    String region,
+    long hits,
+    long misses,
+    long puts,
+    long size // Entradas en memoria (-1 si la región no lo informa)
+) {}
@@ -2,6 +2,11 @@ package com.pizzeria.backend.dto.cashshift;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+import com.pizzeria.backend.model.enums.PaymentStatus;
 
 /**
  * DTO de respuesta para CashShift
@@ -12,5 +17,10 @@ public record CashShiftResponse(
     LocalDateTime startDate,
     LocalDateTime endDate,
     BigDecimal startAmount,
-    BigDecimal endAmount
+    BigDecimal endAmount,
+    Long orderCount,       // Totales en vivo (sin cancelados)
+    BigDecimal grossTotal,
+    Map<PaymentMethod, BigDecimal> totalsByPaymentMethod,
+    Map<PaymentStatus, BigDecimal> totalsByPaymentStatus,
+    Map<DeliveryMethod, BigDecimal> totalsByDeliveryMethod
 ) {}
@@ -0,0 +1,14 @@
+package com.pizzeria.backend.dto.common;
+
+import java.util.List;
+
+/**
+ * Página de resultados con paginación por cursor (keyset)
+ *
+ * Para pedir la siguiente página se reenvía nextCursor tal cual.
+ * Si nextCursor es null, no hay más resultados.
+ */
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor // Opaco para el Front (null = última página)
+) {}
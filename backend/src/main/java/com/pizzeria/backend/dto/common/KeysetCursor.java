@@ -0,0 +1,42 @@
+package com.pizzeria.backend.dto.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posición de un cursor keyset: valor de la columna de orden + ID (desempate).
+ *
+ * Se serializa como Base64 URL-safe de "sortKey|id" para que el Front lo trate
+ * como un valor opaco.
+ */
+public record KeysetCursor(
+    String sortKey, // Ej: createdAt en ISO-8601
+    Long id
+) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor Valor recibido del Front
+     * @return Cursor decodificado
+     * @throws IllegalArgumentException si el cursor no tiene el formato esperado
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new KeysetCursor(raw.substring(0, separator), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException ex) {
+            // NumberFormatException y errores de Base64 también caen acá
+            throw new IllegalArgumentException("Cursor inválido", ex);
+        }
+    }
+}
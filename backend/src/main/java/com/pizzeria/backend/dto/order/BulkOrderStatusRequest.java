@@ -0,0 +1,22 @@
+package com.pizzeria.backend.dto.order;
+
+import java.util.List;
+
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO para cambiar de estado varios pedidos a la vez (ej: "todos listos").
+ * Hace falta al menos uno de los dos destinos; el que viene null no se toca.
+ */
+public record BulkOrderStatusRequest(
+    @NotEmpty @Size(max = MAX_ORDERS) List<@NotNull Long> orderIds,
+    OrderStatus orderStatus,
+    PaymentStatus paymentStatus
+) {
+    public static final int MAX_ORDERS = 500;
+}
@@ -0,0 +1,13 @@
+package com.pizzeria.backend.dto.order;
+
+import java.util.List;
+
+/**
+ * Resultado de un cambio de estado masivo: solo los pedidos que cambiaron,
+ * con su nueva versión. Los que ya estaban en el estado pedido no aparecen.
+ */
+public record BulkOrderStatusResponse(
+    List<OrderVersion> changed
+) {
+    public record OrderVersion(Long id, Long version) {}
+}
@@ -0,0 +1,17 @@
+package com.pizzeria.backend.dto.order;
+
+/**
+ * Evento de cambio de un pedido (delta) para el tablero en vivo (SSE)
+ *
+ * El Front aplica el pedido recibido sobre su lista local en lugar de
+ * volver a pedir GET /api/orders completo.
+ */
+public record OrderEvent(
+    Type type,
+    OrderResponse order // Estado del pedido luego del cambio
+) {
+    public enum Type {
+        CREATED,  // Pedido nuevo
+        UPDATED   // Cambio de estado o de detalles de pago/entrega
+    }
+}
@@ -0,0 +1,20 @@
+package com.pizzeria.backend.dto.order;
+
+import java.time.LocalDateTime;
+
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+
+/**
+ * Filtros opcionales del historial de pedidos
+ * (null = no filtrar por ese campo)
+ */
+public record OrderHistoryFilter(
+    OrderStatus orderStatus,
+    PaymentMethod paymentMethod,
+    DeliveryMethod deliveryMethod,
+    Long customerId,
+    LocalDateTime from, // Inclusive
+    LocalDateTime to    // Exclusive
+) {}
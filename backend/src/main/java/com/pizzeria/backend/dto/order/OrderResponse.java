@@ -22,6 +22,9 @@ public record OrderResponse(
     DeliveryMethod deliveryMethod,
     BigDecimal total,
     LocalDateTime createdAt,
+    LocalDateTime statusChangedAt, // Desde cuándo está en el estado actual
+    LocalDateTime paidAt,
+    Long version, // Se devuelve como ETag; reenviarlo en If-Match al modificar el pedido
     List<OrderItemResponse> items
 ) {
     public record OrderItemResponse(
@@ -1,9 +1,19 @@
 package com.pizzeria.backend.mapper;
 
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import com.pizzeria.backend.dto.cashshift.CashShiftResponse;
 import com.pizzeria.backend.model.CashShift;
+import com.pizzeria.backend.model.CashShiftTotals;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+import com.pizzeria.backend.model.enums.PaymentStatus;
 
 /**
  * Mapper para CashShift -> DTOs
@@ -11,5 +21,48 @@ import com.pizzeria.backend.model.CashShift;
 @Mapper(componentModel = "spring")
 public interface CashShiftMapper {
 
+    @Mapping(target = "orderCount", source = "totals.orderCount")
+    @Mapping(target = "grossTotal", source = "totals.grossTotal")
+    @Mapping(target = "totalsByPaymentMethod", source = "totals", qualifiedByName = "byPaymentMethod")
+    @Mapping(target = "totalsByPaymentStatus", source = "totals", qualifiedByName = "byPaymentStatus")
+    @Mapping(target = "totalsByDeliveryMethod", source = "totals", qualifiedByName = "byDeliveryMethod")
     CashShiftResponse toResponse(CashShift cashShift);
+
+    // Desgloses como mapas (una entrada por valor del enum, null si la caja no tiene totales)
+
+    @Named("byPaymentMethod")
+    default Map<PaymentMethod, BigDecimal> byPaymentMethod(CashShiftTotals totals) {
+        if (totals == null) {
+            return null;
+        }
+        Map<PaymentMethod, BigDecimal> result = new EnumMap<>(PaymentMethod.class);
+        for (PaymentMethod paymentMethod : PaymentMethod.values()) {
+            result.put(paymentMethod, totals.totalFor(paymentMethod));
+        }
+        return result;
+    }
+
+    @Named("byPaymentStatus")
+    default Map<PaymentStatus, BigDecimal> byPaymentStatus(CashShiftTotals totals) {
+        if (totals == null) {
+            return null;
+        }
+        Map<PaymentStatus, BigDecimal> result = new EnumMap<>(PaymentStatus.class);
+        for (PaymentStatus paymentStatus : PaymentStatus.values()) {
+            result.put(paymentStatus, totals.totalFor(paymentStatus));
+        }
+        return result;
+    }
+
+    @Named("byDeliveryMethod")
+    default Map<DeliveryMethod, BigDecimal> byDeliveryMethod(CashShiftTotals totals) {
+        if (totals == null) {
+            return null;
+        }
+        Map<DeliveryMethod, BigDecimal> result = new EnumMap<>(DeliveryMethod.class);
+        for (DeliveryMethod deliveryMethod : DeliveryMethod.values()) {
+            result.put(deliveryMethod, totals.totalFor(deliveryMethod));
+        }
+        return result;
+    }
 }
@@ -25,7 +25,7 @@ import lombok.experimental.SuperBuilder;
 public abstract class BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     // Columna discriminadora para Multi-tenant
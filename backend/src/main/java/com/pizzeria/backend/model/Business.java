@@ -10,8 +10,13 @@ public class Business {
     // NO extiende BaseEntity porque Business no pertenece a otro Business
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     private String name;
+
+    // Versión de la carta (productos + combos): ETag de la carta, ver MenuCache
+    @Column(name = "menu_version", nullable = false)
+    @Builder.Default
+    private Long menuVersion = 0L;
 }
@@ -4,9 +4,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -14,6 +16,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,9 +36,15 @@ import lombok.NoArgsConstructor;
  * - endDate: Fecha y hora de cierre (null si está abierta)
  * - startAmount: Dinero inicial en la caja
  * - endAmount: Dinero final después del cierre (null si está abierta)
+ * - totals: Totales de pedidos mantenidos en vivo (ver CashShiftTotals)
+ * - version: Versión optimista (apertura / cierre)
+ *
+ * Con @DynamicUpdate guardar la caja (ej: al cerrarla) escribe solo las
+ * columnas que cambiaron y nunca pisa los totales, que se mantienen aparte.
  */
 @Entity
 @Table(name = "cash_shifts")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,7 +52,7 @@ import lombok.NoArgsConstructor;
 public class CashShift {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     /**
@@ -83,6 +92,22 @@ public class CashShift {
     @Column(name = "end_amount", precision = 10, scale = 2)
     private BigDecimal endAmount;
 
+    /**
+     * Totales en vivo (cantidad, total y desglose por pago / entrega), sin cancelados.
+     * Se actualizan con deltas atómicos en cada cambio de pedido.
+     */
+    @Embedded
+    @Builder.Default
+    private CashShiftTotals totals = CashShiftTotals.zero();
+
+    /**
+     * Versión optimista. Los deltas de totales (CashShiftRepository.addTotals)
+     * no la incrementan: cada pedido no invalida la caja que leyó otro terminal.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /**
      * Auditoría: fecha de creación
      */
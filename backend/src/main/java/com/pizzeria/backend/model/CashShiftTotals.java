@@ -0,0 +1,181 @@
+package com.pizzeria.backend.model;
+
+import java.math.BigDecimal;
+
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totales de una caja mantenidos en vivo (embebidos en cash_shifts).
+ *
+ * OrderService calcula el aporte de cada pedido antes y después de modificarlo
+ * y aplica la diferencia con un único UPDATE atómico
+ * (CashShiftRepository.addTotals), así leer los totales de una caja no depende
+ * de la cantidad de pedidos. Los pedidos CANCELLED no aportan nada.
+ *
+ * Attributes:
+ * - orderCount / grossTotal: Cantidad de pedidos y total vendido
+ * - cash / transfer / card: Total por método de pago
+ * - paid / pending: Total por estado de pago
+ * - pickup / delivery / dineIn: Total por método de entrega
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CashShiftTotals {
+
+    @Column(name = "order_count")
+    private Long orderCount;
+
+    @Column(name = "gross_total", precision = 12, scale = 2)
+    private BigDecimal grossTotal;
+
+    @Column(name = "cash_total", precision = 12, scale = 2)
+    private BigDecimal cashTotal;
+
+    @Column(name = "transfer_total", precision = 12, scale = 2)
+    private BigDecimal transferTotal;
+
+    @Column(name = "card_total", precision = 12, scale = 2)
+    private BigDecimal cardTotal;
+
+    @Column(name = "paid_total", precision = 12, scale = 2)
+    private BigDecimal paidTotal;
+
+    @Column(name = "pending_total", precision = 12, scale = 2)
+    private BigDecimal pendingTotal;
+
+    @Column(name = "pickup_total", precision = 12, scale = 2)
+    private BigDecimal pickupTotal;
+
+    @Column(name = "delivery_total", precision = 12, scale = 2)
+    private BigDecimal deliveryTotal;
+
+    @Column(name = "dine_in_total", precision = 12, scale = 2)
+    private BigDecimal dineInTotal;
+
+    /**
+     * Totales en cero (caja recién abierta)
+     */
+    public static CashShiftTotals zero() {
+        return new CashShiftTotals(0L, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    /**
+     * Aporte de un pedido a los totales de su caja (cero si está cancelado)
+     *
+     * @param order Pedido en su estado actual
+     * @return Totales que suma este pedido
+     */
+    public static CashShiftTotals of(Order order) {
+        CashShiftTotals totals = zero();
+        if (order.getOrderStatus() == OrderStatus.CANCELLED) {
+            return totals;
+        }
+
+        BigDecimal amount = order.getTotal() != null ? order.getTotal() : BigDecimal.ZERO;
+        totals.setOrderCount(1L);
+        totals.setGrossTotal(amount);
+
+        // paymentMethod es nullable hasta que paguen: en ese caso no suma a ningún método
+        if (order.getPaymentMethod() != null) {
+            switch (order.getPaymentMethod()) {
+                case CASH -> totals.setCashTotal(amount);
+                case TRANSFER -> totals.setTransferTotal(amount);
+                case CARD -> totals.setCardTotal(amount);
+            }
+        }
+        switch (order.getPaymentStatus()) {
+            case PAID -> totals.setPaidTotal(amount);
+            case PENDING -> totals.setPendingTotal(amount);
+        }
+        switch (order.getDeliveryMethod()) {
+            case PICKUP -> totals.setPickupTotal(amount);
+            case DELIVERY -> totals.setDeliveryTotal(amount);
+            case DINE_IN -> totals.setDineInTotal(amount);
+        }
+        return totals;
+    }
+
+    /**
+     * Diferencia campo a campo (this - other), para aplicar como delta
+     */
+    public CashShiftTotals minus(CashShiftTotals other) {
+        return new CashShiftTotals(
+                orderCount - other.orderCount,
+                grossTotal.subtract(other.grossTotal),
+                cashTotal.subtract(other.cashTotal),
+                transferTotal.subtract(other.transferTotal),
+                cardTotal.subtract(other.cardTotal),
+                paidTotal.subtract(other.paidTotal),
+                pendingTotal.subtract(other.pendingTotal),
+                pickupTotal.subtract(other.pickupTotal),
+                deliveryTotal.subtract(other.deliveryTotal),
+                dineInTotal.subtract(other.dineInTotal));
+    }
+
+    /**
+     * Suma campo a campo (this + other), para acumular los deltas de varios pedidos
+     */
+    public CashShiftTotals plus(CashShiftTotals other) {
+        return new CashShiftTotals(
+                orderCount + other.orderCount,
+                grossTotal.add(other.grossTotal),
+                cashTotal.add(other.cashTotal),
+                transferTotal.add(other.transferTotal),
+                cardTotal.add(other.cardTotal),
+                paidTotal.add(other.paidTotal),
+                pendingTotal.add(other.pendingTotal),
+                pickupTotal.add(other.pickupTotal),
+                deliveryTotal.add(other.deliveryTotal),
+                dineInTotal.add(other.dineInTotal));
+    }
+
+    /**
+     * true si aplicar este delta no cambiaría nada (ej: solo cambió el estado de cocina)
+     */
+    public boolean isZero() {
+        return orderCount == 0
+                && grossTotal.signum() == 0
+                && cashTotal.signum() == 0 && transferTotal.signum() == 0 && cardTotal.signum() == 0
+                && paidTotal.signum() == 0 && pendingTotal.signum() == 0
+                && pickupTotal.signum() == 0 && deliveryTotal.signum() == 0 && dineInTotal.signum() == 0;
+    }
+
+    public BigDecimal totalFor(PaymentMethod paymentMethod) {
+        return switch (paymentMethod) {
+            case CASH -> cashTotal;
+            case TRANSFER -> transferTotal;
+            case CARD -> cardTotal;
+        };
+    }
+
+    public BigDecimal totalFor(PaymentStatus paymentStatus) {
+        return switch (paymentStatus) {
+            case PAID -> paidTotal;
+            case PENDING -> pendingTotal;
+        };
+    }
+
+    public BigDecimal totalFor(DeliveryMethod deliveryMethod) {
+        return switch (deliveryMethod) {
+            case PICKUP -> pickupTotal;
+            case DELIVERY -> deliveryTotal;
+            case DINE_IN -> dineInTotal;
+        };
+    }
+}
@@ -3,6 +3,10 @@ package com.pizzeria.backend.model;
 import java.math.BigDecimal;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -17,6 +21,8 @@ import lombok.experimental.SuperBuilder;
 
 @Entity
 @Table(name = "combos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "combo") // Cache de 2do nivel (ver SecondLevelCacheConfig)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @SuperBuilder
 public class Combo extends BaseEntity {
 
@@ -28,6 +34,7 @@ public class Combo extends BaseEntity {
     @Default
     private boolean active = true;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "combo-items")
     @OneToMany(mappedBy = "combo", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ComboItem> comboItems;
 }
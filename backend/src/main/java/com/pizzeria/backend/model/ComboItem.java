@@ -1,15 +1,20 @@
 package com.pizzeria.backend.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "combo_items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "combo-item") // Cache de 2do nivel (ver SecondLevelCacheConfig)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class ComboItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
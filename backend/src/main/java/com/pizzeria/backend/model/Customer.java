@@ -2,6 +2,10 @@ package com.pizzeria.backend.model;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.OneToMany;
@@ -15,6 +19,8 @@ import lombok.experimental.SuperBuilder;
 
 @Entity
 @Table(name = "customers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customer") // Cache de 2do nivel (ver SecondLevelCacheConfig)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @SuperBuilder
 public class Customer extends BaseEntity {
 
@@ -24,6 +30,7 @@ public class Customer extends BaseEntity {
     @Default
     private Boolean active = true;
 
+    // Sin cache de colección: AddressService guarda y borra direcciones sin pasar por acá
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL)
     private List<Address> addresses;
 }
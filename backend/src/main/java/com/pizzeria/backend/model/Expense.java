@@ -8,6 +8,7 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -30,7 +31,10 @@ import lombok.experimental.SuperBuilder;
  * Multi-tenant: cada gasto pertenece a un negocio específico (via businessId en BaseEntity)
  */
 @Entity
-@Table(name = "expenses")
+// Índice para el listado paginado por keyset (business_id, date, id)
+@Table(name = "expenses", indexes = {
+    @Index(name = "idx_expenses_business_date_id", columnList = "business_id, date DESC, id DESC")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @SuperBuilder
 public class Expense extends BaseEntity {
 
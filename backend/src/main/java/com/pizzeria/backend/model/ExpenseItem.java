@@ -36,7 +36,7 @@ import lombok.Setter;
 public class ExpenseItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     /** Referencia al gasto padre */
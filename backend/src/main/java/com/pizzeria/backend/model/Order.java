@@ -1,8 +1,11 @@
 package com.pizzeria.backend.model;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.pizzeria.backend.model.enums.DeliveryMethod;
 import com.pizzeria.backend.model.enums.OrderStatus;
 import com.pizzeria.backend.model.enums.PaymentMethod;
@@ -14,10 +17,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -25,7 +30,12 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "orders")
+// Índice para el historial paginado por keyset (business_id, created_at, id)
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_business_created_id", columnList = "business_id, created_at DESC, id DESC")
+})
+// UPDATE solo con las columnas que cambiaron (+ version en el WHERE): dos ediciones de campos distintos no se pisan
+@DynamicUpdate
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @SuperBuilder
 public class Order extends BaseEntity {
 
@@ -55,6 +65,11 @@ public class Order extends BaseEntity {
     @Column(nullable = false)
     private PaymentStatus paymentStatus;
 
+    // Hora del último cambio de estado / del cobro (las marca OrderLifecycle)
+    private LocalDateTime statusChangedAt;
+
+    private LocalDateTime paidAt;
+
     @Enumerated(EnumType.STRING)
     private PaymentMethod paymentMethod; // Nullable hasta que paguen
 
@@ -65,6 +80,11 @@ public class Order extends BaseEntity {
     @Column(precision = 10, scale = 2)
     private BigDecimal total;
 
+    // Versión optimista: cada cambio la incrementa (también los UPDATE masivos de OrderRepository)
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items;
 }
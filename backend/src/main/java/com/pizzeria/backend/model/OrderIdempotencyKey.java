@@ -0,0 +1,69 @@
+package com.pizzeria.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Header Idempotency-Key ya usado en un alta de pedido (POST /api/orders).
+ *
+ * Se guarda en la misma transacción que el pedido: si el pedido hace rollback,
+ * la clave queda libre. La restricción única (negocio, clave) hace que de dos
+ * reintentos simultáneos solo uno llegue a crear el pedido.
+ *
+ * Attributes:
+ * - idempotencyKey: Valor del header, único por negocio
+ * - requestHash: SHA-256 del cuerpo original (la misma clave con otro pedido se rechaza)
+ * - orderId: Pedido creado con esta clave
+ * - expiresAt: Pasada esta fecha la clave se puede reutilizar (y se borra)
+ */
+@Entity
+@Table(
+    name = "order_idempotency_keys",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uq_order_idempotency_keys_business_key",
+        columnNames = {"business_id", "idempotency_key"}
+    ),
+    indexes = @Index(name = "idx_order_idempotency_keys_expires_at", columnList = "expires_at")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderIdempotencyKey {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Column(name = "business_id", nullable = false)
+    private Long businessId;
+
+    @Column(name = "idempotency_key", nullable = false, length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
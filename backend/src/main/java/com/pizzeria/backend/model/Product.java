@@ -2,6 +2,10 @@ package com.pizzeria.backend.model;
 
 import java.math.BigDecimal;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -14,6 +18,8 @@ import lombok.experimental.SuperBuilder;
 
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product") // Cache de 2do nivel (ver SecondLevelCacheConfig)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @SuperBuilder
 public class Product extends BaseEntity {
 
@@ -1,5 +1,9 @@
 package com.pizzeria.backend.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -18,6 +22,8 @@ import lombok.experimental.SuperBuilder;
  */
 @Entity
 @Table(name = "suppliers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "supplier") // Cache de 2do nivel (ver SecondLevelCacheConfig)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @SuperBuilder
 public class Supplier extends BaseEntity {
 
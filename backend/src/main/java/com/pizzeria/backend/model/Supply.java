@@ -2,6 +2,10 @@ package com.pizzeria.backend.model;
 
 import com.pizzeria.backend.model.enums.SupplyCategory;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -26,6 +30,8 @@ import lombok.experimental.SuperBuilder;
  */
 @Entity
 @Table(name = "supplies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "supply") // Cache de 2do nivel (ver SecondLevelCacheConfig)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @SuperBuilder
 public class Supply extends BaseEntity {
 
@@ -1,17 +1,19 @@
 package com.pizzeria.backend.model;
 
+import com.pizzeria.backend.config.UserCacheInvalidationListener;
 import com.pizzeria.backend.model.enums.Role;
 
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@EntityListeners(UserCacheInvalidationListener.class) // Invalida PrincipalCache al cambiar roles
 @Table(name = "user_business_roles")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class UserBusinessRole {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,23 @@
+package com.pizzeria.backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.pizzeria.backend.model.Business;
+
+public interface BusinessRepository extends JpaRepository<Business, Long> {
+
+    // SQL generado: SELECT menu_version FROM businesses WHERE id = ?
+    @Query("SELECT b.menuVersion FROM Business b WHERE b.id = :businessId")
+    Optional<Long> findMenuVersion(@Param("businessId") Long businessId);
+
+    // Lo llama MenuCache antes del commit de cada cambio de la carta (el lock de la fila
+    // ordena los cambios concurrentes de un mismo negocio)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Business b SET b.menuVersion = b.menuVersion + 1 WHERE b.id = :businessId")
+    int incrementMenuVersion(@Param("businessId") Long businessId);
+}
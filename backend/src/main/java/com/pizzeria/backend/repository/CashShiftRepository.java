@@ -1,14 +1,20 @@
 package com.pizzeria.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.pizzeria.backend.model.CashShift;
+import com.pizzeria.backend.model.CashShiftTotals;
+
+import jakarta.persistence.LockModeType;
 
 /**
  * Repositorio para la entidad CashShift.
@@ -53,4 +59,85 @@ public interface CashShiftRepository extends JpaRepository<CashShift, Long> {
      */
     @Query("SELECT COUNT(cs) > 0 FROM CashShift cs WHERE cs.businessId = :businessId AND cs.status = 'OPEN'")
     boolean hasCashShiftOpen(@Param("businessId") Long businessId);
+
+    /**
+     * Igual que findOpenCashShift pero bloqueando la fila (SELECT ... FOR UPDATE).
+     * Se usa al cerrar la caja: espera a que terminen los pedidos en curso, cuyos
+     * deltas de totales también toman este lock, y evita pisar sus incrementos.
+     *
+     * @param businessId ID del negocio
+     * @return Optional con la caja abierta bloqueada
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT cs FROM CashShift cs WHERE cs.businessId = :businessId AND cs.status = 'OPEN'")
+    Optional<CashShift> findOpenCashShiftForUpdate(@Param("businessId") Long businessId);
+
+    /**
+     * Bloquea varias cajas por ID ascendente (SELECT ... ORDER BY id FOR UPDATE).
+     * Todas las transacciones que bloquean más de una caja lo hacen en este
+     * orden, así no se esperan en cruz.
+     *
+     * @param ids IDs de las cajas
+     * @return Cajas bloqueadas
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT cs FROM CashShift cs WHERE cs.id IN :ids ORDER BY cs.id")
+    List<CashShift> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Suma un delta a los totales en vivo de una caja con un único UPDATE atómico
+     * (col = col + delta), sin leer la caja ni perder incrementos concurrentes.
+     * COALESCE cubre las cajas creadas antes de existir estas columnas.
+     *
+     * @param id ID de la caja
+     * @param delta Diferencia a sumar (puede tener valores negativos)
+     * @return Cantidad de filas actualizadas (1 si la caja existe)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(ADD_TOTALS + "WHERE cs.id = :id")
+    int addTotals(@Param("id") Long id, @Param("delta") CashShiftTotals delta);
+
+    /**
+     * Igual que addTotals, pero solo si la caja sigue abierta.
+     *
+     * Es la confirmación que usa el alta de pedidos cuando toma la caja de
+     * OpenCashShiftRegistry sin consultarla: si otra instancia la cerró, el
+     * UPDATE no toca ninguna fila (y si el cierre está en curso, espera a su lock).
+     *
+     * @param id ID de la caja
+     * @param delta Diferencia a sumar
+     * @return 1 si la caja está abierta, 0 si no
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(ADD_TOTALS + "WHERE cs.id = :id AND cs.status = 'OPEN'")
+    int addTotalsIfOpen(@Param("id") Long id, @Param("delta") CashShiftTotals delta);
+
+    /**
+     * Igual que addTotalsIfOpen, pero SIN flush previo del contexto.
+     *
+     * Lo usan los cambios de pedidos ya creados, ANTES de escribir el pedido:
+     * así toman el lock de la caja primero, en el mismo orden que closeCashShift
+     * (caja -> pedidos). Con flush automático el UPDATE del pedido saldría antes
+     * y los dos caminos podrían quedar en deadlock.
+     *
+     * @param id ID de la caja
+     * @param delta Diferencia a sumar
+     * @return 1 si la caja está abierta, 0 si no
+     */
+    @Modifying
+    @Query(ADD_TOTALS + "WHERE cs.id = :id AND cs.status = 'OPEN'")
+    int addTotalsIfOpenWithoutFlush(@Param("id") Long id, @Param("delta") CashShiftTotals delta);
+
+    // SET común de addTotals / addTotalsIfOpen / addTotalsIfOpenWithoutFlush
+    String ADD_TOTALS = "UPDATE CashShift cs SET "
+            + "cs.totals.orderCount = COALESCE(cs.totals.orderCount, 0) + :#{#delta.orderCount}, "
+            + "cs.totals.grossTotal = COALESCE(cs.totals.grossTotal, 0) + :#{#delta.grossTotal}, "
+            + "cs.totals.cashTotal = COALESCE(cs.totals.cashTotal, 0) + :#{#delta.cashTotal}, "
+            + "cs.totals.transferTotal = COALESCE(cs.totals.transferTotal, 0) + :#{#delta.transferTotal}, "
+            + "cs.totals.cardTotal = COALESCE(cs.totals.cardTotal, 0) + :#{#delta.cardTotal}, "
+            + "cs.totals.paidTotal = COALESCE(cs.totals.paidTotal, 0) + :#{#delta.paidTotal}, "
+            + "cs.totals.pendingTotal = COALESCE(cs.totals.pendingTotal, 0) + :#{#delta.pendingTotal}, "
+            + "cs.totals.pickupTotal = COALESCE(cs.totals.pickupTotal, 0) + :#{#delta.pickupTotal}, "
+            + "cs.totals.deliveryTotal = COALESCE(cs.totals.deliveryTotal, 0) + :#{#delta.deliveryTotal}, "
+            + "cs.totals.dineInTotal = COALESCE(cs.totals.dineInTotal, 0) + :#{#delta.dineInTotal} ";
 }
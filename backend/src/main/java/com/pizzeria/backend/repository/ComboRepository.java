@@ -1,16 +1,28 @@
 package com.pizzeria.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.pizzeria.backend.model.Combo;
 
+import jakarta.persistence.QueryHint;
+
 public interface ComboRepository extends JpaRepository<Combo, Long> {
     // SQL generado: SELECT * FROM combos WHERE business_id = ?
+    // Query cache: el resultado (IDs) se invalida solo cuando cambia la tabla
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Combo> findByBusinessIdAndActiveTrue(Long businessId);
 
-    // SQL generado: SELECT * FROM combos WHERE id = ? AND business_id = ?
-    Optional<Combo> findByIdAndBusinessId(Long id, Long businessId);
+    // Por PK (cache de 2do nivel) y filtrando por negocio, igual que ProductRepository
+    default Optional<Combo> findByIdAndBusinessId(Long id, Long businessId) {
+        return findById(id).filter(entity -> entity.getBusinessId().equals(businessId));
+    }
+
+    // SQL generado: SELECT * FROM combos WHERE id IN (?, ?, ...) AND business_id = ?
+    List<Combo> findByIdInAndBusinessId(Collection<Long> ids, Long businessId);
 }
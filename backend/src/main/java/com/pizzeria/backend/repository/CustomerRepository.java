@@ -9,7 +9,10 @@ import com.pizzeria.backend.model.Customer;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
-    Optional<Customer> findByIdAndBusinessId(Long id, Long businessId);
+    // Por PK (cache de 2do nivel) y filtrando por negocio
+    default Optional<Customer> findByIdAndBusinessId(Long id, Long businessId) {
+        return findById(id).filter(entity -> entity.getBusinessId().equals(businessId));
+    }
     
     List<Customer> findByBusinessIdAndActiveTrue(Long businessId);
     
@@ -1,9 +1,12 @@
 package com.pizzeria.backend.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +16,9 @@ import com.pizzeria.backend.model.Expense;
 /**
  * Repositorio para la entidad Expense
  * Proporciona métodos CRUD y queries custom para gastos
+ * 
+ * Las lecturas que se mapean a ExpenseResponse usan @EntityGraph para traer
+ * proveedor, items e insumo de cada item en la misma query (sin N+1 lazy loads)
  */
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     
@@ -20,15 +26,42 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     List<Expense> findByBusinessId(Long businessId);
 
     // Obtener un gasto específico verificando que pertenezca al negocio
+    @EntityGraph(attributePaths = {"supplier", "items", "items.supply"})
     Optional<Expense> findByIdAndBusinessId(Long id, Long businessId);
 
-    // Obtener gastos en un rango de fechas
+    // Obtener gastos en un rango de fechas (con proveedor, items e insumos)
+    @EntityGraph(attributePaths = {"supplier", "items", "items.supply"})
     List<Expense> findByBusinessIdAndDateBetween(Long businessId, LocalDate startDate, LocalDate endDate);
 
-    // Obtener gastos de un proveedor específico
+    // Obtener gastos de un proveedor específico (con proveedor, items e insumos)
+    @EntityGraph(attributePaths = {"supplier", "items", "items.supply"})
     List<Expense> findByBusinessIdAndSupplierId(Long businessId, Long supplierId);
 
-    // Query custom para obtener gastos con sus items eager-loaded (evita N+1 queries)
-    @Query("SELECT DISTINCT e FROM Expense e LEFT JOIN FETCH e.items WHERE e.businessId = :businessId")
+    // Todos los gastos de un negocio con proveedor, items e insumos (evita N+1 queries)
+    // Sin DISTINCT: Hibernate 6 ya devuelve cada gasto una sola vez
+    @EntityGraph(attributePaths = {"supplier", "items", "items.supply"})
+    @Query("SELECT e FROM Expense e WHERE e.businessId = :businessId")
     List<Expense> findByBusinessIdWithItems(@Param("businessId") Long businessId);
+
+    // --- Listado paginado por keyset (date DESC, id DESC) en dos fases ---
+    // Fase 1: solo los IDs de la página (LIMIT en la BD, sin JOIN a los items)
+    // SQL: SELECT id FROM expenses WHERE business_id = ? ORDER BY date DESC, id DESC LIMIT ?
+    @Query("SELECT e.id FROM Expense e WHERE e.businessId = :businessId ORDER BY e.date DESC, e.id DESC")
+    List<Long> findPageIds(@Param("businessId") Long businessId, Limit limit);
+
+    // Fase 1 (páginas siguientes): continúa después de (date, id) del último gasto recibido
+    @Query("SELECT e.id FROM Expense e WHERE e.businessId = :businessId "
+            + "AND (e.date < :date OR (e.date = :date AND e.id < :id)) "
+            + "ORDER BY e.date DESC, e.id DESC")
+    List<Long> findPageIdsBefore(
+            @Param("businessId") Long businessId,
+            @Param("date") LocalDate date,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    // Fase 2: proveedor, items e insumos de los gastos de UNA página en una sola query
+    @EntityGraph(attributePaths = {"supplier", "items", "items.supply"})
+    @Query("SELECT e FROM Expense e WHERE e.id IN :ids")
+    List<Expense> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
 }
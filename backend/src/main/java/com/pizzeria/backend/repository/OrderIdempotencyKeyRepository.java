@@ -0,0 +1,23 @@
+package com.pizzeria.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.pizzeria.backend.model.OrderIdempotencyKey;
+
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, Long> {
+
+    // SQL: SELECT * FROM order_idempotency_keys WHERE business_id = ? AND idempotency_key = ?
+    Optional<OrderIdempotencyKey> findByBusinessIdAndIdempotencyKey(Long businessId, String idempotencyKey);
+
+    // Limpieza periódica en UN solo DELETE (usa idx_order_idempotency_keys_expires_at)
+    // SQL: DELETE FROM order_idempotency_keys WHERE expires_at <= ?
+    @Modifying
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,27 +1,97 @@
 package com.pizzeria.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.pizzeria.backend.model.CashShift;
 import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentStatus;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    
-    // SQL: SELECT * FROM orders WHERE business_id = ? ORDER BY created_at DESC
-    List<Order> findByBusinessIdOrderByCreatedAtDesc(Long businessId);
+import jakarta.persistence.LockModeType;
+
+// JpaSpecificationExecutor: historial paginado con filtros dinámicos (ver OrderSpecifications)
+// Las lecturas que se mapean a OrderResponse usan @EntityGraph para traer cliente, dirección,
+// caja e ítems (con su producto/combo) en la misma query y evitar N+1 lazy loads
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
 
     // SQL: SELECT * FROM orders WHERE id = ? AND business_id = ?
+    // (con cliente, dirección, caja e ítems en la misma query)
+    @EntityGraph(attributePaths = {"customer", "address", "cashShift", "items", "items.product", "items.combo"})
     Optional<Order> findByIdAndBusinessId(Long id, Long businessId);
 
     // SQL: SELECT * FROM orders WHERE business_id = ? AND cash_shift_id = ? ORDER BY created_at DESC
+    // (con cliente, dirección, caja e ítems en la misma query)
+    @EntityGraph(attributePaths = {"customer", "address", "cashShift", "items", "items.product", "items.combo"})
     @Query("SELECT o FROM Order o WHERE o.businessId = :businessId AND o.cashShift = :cashShift ORDER BY o.createdAt DESC")
     List<Order> findByBusinessIdAndCashShiftOrderByCreatedAtDesc(
             @Param("businessId") Long businessId,
             @Param("cashShift") CashShift cashShift
     );
+
+    // Segunda fase del historial paginado: completa los pedidos de UNA página
+    // SQL: SELECT ... FROM orders LEFT JOIN order_items ... WHERE id IN (?, ?, ...)
+    @EntityGraph(attributePaths = {"customer", "address", "cashShift", "items", "items.product", "items.combo"})
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids")
+    List<Order> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Cambio de estado masivo en UN solo UPDATE (cierre de caja).
+    // Los CANCELLED no se tocan: siguen fuera de los totales de la caja (CashShiftTotals).
+    // flush/clear: los cambios pendientes se escriben antes y el contexto de persistencia
+    // se limpia después, para que no queden pedidos en memoria con el estado viejo.
+    // SQL: UPDATE orders SET order_status = ?, status_changed_at = ?, version = version + 1, updated_at = ?
+    //      WHERE cash_shift_id = ? AND order_status NOT IN (?, 'CANCELLED')
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.orderStatus = :status, o.statusChangedAt = :now, o.version = o.version + 1, o.updatedAt = :now "
+            + "WHERE o.cashShift = :cashShift AND o.orderStatus <> :status "
+            + "AND o.orderStatus <> com.pizzeria.backend.model.enums.OrderStatus.CANCELLED")
+    int updateStatusByCashShift(
+            @Param("cashShift") CashShift cashShift,
+            @Param("status") OrderStatus status,
+            @Param("now") LocalDateTime now
+    );
+
+    // Cajas de un lote de pedidos, para bloquearlas antes que los pedidos (sin lock)
+    @Query("SELECT DISTINCT o.cashShift.id FROM Order o WHERE o.businessId = :businessId AND o.id IN :ids")
+    List<Long> findCashShiftIdsByIdIn(@Param("businessId") Long businessId, @Param("ids") Collection<Long> ids);
+
+    // Primera fase del cambio de estado masivo: bloquea las filas del lote (sin ítems)
+    // SQL: SELECT * FROM orders WHERE business_id = ? AND id IN (?, ?, ...) FOR UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.businessId = :businessId AND o.id IN :ids")
+    List<Order> findAllForUpdate(@Param("businessId") Long businessId, @Param("ids") Collection<Long> ids);
+
+    // Cambio de estado masivo de una selección de pedidos en UN solo UPDATE.
+    // Un destino null deja la columna como está (COALESCE con el valor actual; comparar con null
+    // no es verdadero, así que las horas tampoco cambian). Las horas siguen a OrderLifecycle.apply:
+    // los CASE leen los valores previos al UPDATE.
+    // SQL: UPDATE orders SET order_status = COALESCE(?, order_status), payment_status = COALESCE(?, payment_status),
+    //      status_changed_at = CASE ..., paid_at = CASE ..., version = version + 1, updated_at = ?
+    //      WHERE business_id = ? AND id IN (?, ?, ...)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.orderStatus = COALESCE(:orderStatus, o.orderStatus), "
+            + "o.paymentStatus = COALESCE(:paymentStatus, o.paymentStatus), "
+            + "o.statusChangedAt = CASE WHEN o.orderStatus <> :orderStatus THEN :now ELSE o.statusChangedAt END, "
+            + "o.paidAt = CASE WHEN o.paymentStatus <> :paymentStatus AND :paymentStatus = "
+            + "com.pizzeria.backend.model.enums.PaymentStatus.PAID THEN :now "
+            + "WHEN o.paymentStatus <> :paymentStatus THEN NULL ELSE o.paidAt END, "
+            + "o.version = o.version + 1, o.updatedAt = :now "
+            + "WHERE o.businessId = :businessId AND o.id IN :ids")
+    int updateStatusByIdIn(
+            @Param("businessId") Long businessId,
+            @Param("ids") Collection<Long> ids,
+            @Param("orderStatus") OrderStatus orderStatus,
+            @Param("paymentStatus") PaymentStatus paymentStatus,
+            @Param("now") LocalDateTime now
+    );
 }
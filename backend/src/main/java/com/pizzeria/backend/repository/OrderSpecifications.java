@@ -0,0 +1,62 @@
+package com.pizzeria.backend.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.pizzeria.backend.dto.order.OrderHistoryFilter;
+import com.pizzeria.backend.model.Order;
+
+/**
+ * Specifications (Criteria API) para el historial de pedidos.
+ *
+ * Todas las condiciones se apoyan en el índice (business_id, created_at, id)
+ * de la tabla orders; los filtros opcionales se aplican sobre ese rango.
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    // WHERE business_id = ?
+    public static Specification<Order> belongsTo(Long businessId) {
+        return (root, query, cb) -> cb.equal(root.get("businessId"), businessId);
+    }
+
+    // Filtros opcionales: solo se agregan los que vienen con valor
+    public static Specification<Order> matches(OrderHistoryFilter filter) {
+        return (root, query, cb) -> {
+            var predicates = cb.conjunction();
+            if (filter.orderStatus() != null) {
+                predicates = cb.and(predicates, cb.equal(root.get("orderStatus"), filter.orderStatus()));
+            }
+            if (filter.paymentMethod() != null) {
+                predicates = cb.and(predicates, cb.equal(root.get("paymentMethod"), filter.paymentMethod()));
+            }
+            if (filter.deliveryMethod() != null) {
+                predicates = cb.and(predicates, cb.equal(root.get("deliveryMethod"), filter.deliveryMethod()));
+            }
+            if (filter.customerId() != null) {
+                predicates = cb.and(predicates, cb.equal(root.get("customer").get("id"), filter.customerId()));
+            }
+            if (filter.from() != null) {
+                predicates = cb.and(predicates, cb.greaterThanOrEqualTo(root.<LocalDateTime>get("createdAt"), filter.from()));
+            }
+            if (filter.to() != null) {
+                predicates = cb.and(predicates, cb.lessThan(root.<LocalDateTime>get("createdAt"), filter.to()));
+            }
+            return predicates;
+        };
+    }
+
+    // Keyset: (created_at, id) < (:createdAt, :id) en orden descendente
+    public static Specification<Order> before(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.<LocalDateTime>get("createdAt"), createdAt),
+                cb.and(
+                        cb.equal(root.get("createdAt"), createdAt),
+                        cb.lessThan(root.<Long>get("id"), id)
+                )
+        );
+    }
+}
@@ -1,20 +1,33 @@
 package com.pizzeria.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.pizzeria.backend.model.Product;
 
+import jakarta.persistence.QueryHint;
+
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
     // SQL generado: SELECT * FROM products WHERE business_id = ?
     List<Product> findByBusinessId(Long businessId);
 
-    // SQL generado: SELECT * FROM products WHERE id = ? AND business_id = ?
-    Optional<Product> findByIdAndBusinessId(Long id, Long businessId);
+    // Búsqueda por PK (sale del cache de 2do nivel si está) + control de negocio en memoria.
+    // Un derived query "WHERE id = ? AND business_id = ?" iría siempre a la BD.
+    default Optional<Product> findByIdAndBusinessId(Long id, Long businessId) {
+        return findById(id).filter(entity -> entity.getBusinessId().equals(businessId));
+    }
+
+    // SQL generado: SELECT * FROM products WHERE id IN (?, ?, ...) AND business_id = ?
+    List<Product> findByIdInAndBusinessId(Collection<Long> ids, Long businessId);
 
     // SQL generado: SELECT * FROM products WHERE business_id = ? AND active = true
+    // Query cache: el resultado (IDs) se invalida solo cuando cambia la tabla
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Product> findByBusinessIdAndActiveTrue(Long businessId);
 }
@@ -16,8 +16,10 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     // Obtener todos los proveedores de un negocio
     List<Supplier> findByBusinessId(Long businessId);
 
-    // Obtener un proveedor específico verificando que pertenezca al negocio
-    Optional<Supplier> findByIdAndBusinessId(Long id, Long businessId);
+    // Obtener un proveedor específico verificando que pertenezca al negocio (por PK: usa el cache de 2do nivel)
+    default Optional<Supplier> findByIdAndBusinessId(Long id, Long businessId) {
+        return findById(id).filter(entity -> entity.getBusinessId().equals(businessId));
+    }
 
     // Búsqueda por nombre (para autocomplete, ej)
     List<Supplier> findByBusinessIdAndNameContainingIgnoreCase(Long businessId, String name);
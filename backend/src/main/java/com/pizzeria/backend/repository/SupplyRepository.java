@@ -1,5 +1,6 @@
 package com.pizzeria.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +18,14 @@ public interface SupplyRepository extends JpaRepository<Supply, Long> {
     // Obtener todos los insumos de un negocio
     List<Supply> findByBusinessId(Long businessId);
 
-    // Obtener un insumo específico verificando que pertenezca al negocio
-    Optional<Supply> findByIdAndBusinessId(Long id, Long businessId);
+    // Obtener un insumo específico verificando que pertenezca al negocio (por PK: usa el cache de 2do nivel)
+    default Optional<Supply> findByIdAndBusinessId(Long id, Long businessId) {
+        return findById(id).filter(entity -> entity.getBusinessId().equals(businessId));
+    }
+
+    // Obtener varios insumos del negocio en una sola query (líneas de un gasto)
+    // SQL: SELECT * FROM supplies WHERE id IN (?, ?, ...) AND business_id = ?
+    List<Supply> findByIdInAndBusinessId(Collection<Long> ids, Long businessId);
 
     // Obtener insumos por categoría (ej: todos los STOCK, todos los SERVICE)
     List<Supply> findByBusinessIdAndCategory(Long businessId, SupplyCategory category);
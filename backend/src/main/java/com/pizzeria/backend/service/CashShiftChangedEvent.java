@@ -0,0 +1,13 @@
+package com.pizzeria.backend.service;
+
+/**
+ * Evento interno que publica CashShiftService al abrir o cerrar una caja.
+ * OpenCashShiftRegistry se actualiza recién después del commit.
+ *
+ * @param businessId Negocio de la caja
+ * @param openCashShiftId Caja recién abierta, o null si se cerró
+ */
+public record CashShiftChangedEvent(
+    Long businessId,
+    Long openCashShiftId
+) {}
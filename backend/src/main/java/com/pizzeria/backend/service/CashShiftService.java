@@ -2,14 +2,18 @@ package com.pizzeria.backend.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.pizzeria.backend.model.CashShift;
 import com.pizzeria.backend.model.CashShift.CashShiftStatus;
-import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.CashShiftTotals;
 import com.pizzeria.backend.model.enums.OrderStatus;
 import com.pizzeria.backend.repository.CashShiftRepository;
 import com.pizzeria.backend.repository.OrderRepository;
@@ -23,15 +27,21 @@ import lombok.RequiredArgsConstructor;
  * Responsabilidades:
  * - Abrir cajas al inicio del turno
  * - Cerrar cajas al final del turno
- * - Validar que haya caja abierta al crear pedidos
+ * - Mantener los totales en vivo de cada caja
+ * - Validar que haya caja abierta al crear pedidos (con OpenCashShiftRegistry)
  * - Listar cajas históricas
  */
 @Service
 @RequiredArgsConstructor
 public class CashShiftService {
 
+    private static final String OPEN_CASH_SHIFT_EXISTS = "Ya hay una caja abierta para este negocio. Ciérrala primero.";
+    private static final String CASH_SHIFT_CLOSED = "La caja de este pedido ya está cerrada: no se pueden cambiar sus totales";
+
     private final CashShiftRepository cashShiftRepository;
     private final OrderRepository orderRepository;
+    private final OpenCashShiftRegistry openCashShiftRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Abre una nueva caja para un negocio
@@ -45,7 +55,7 @@ public class CashShiftService {
     public CashShift openCashShift(Long businessId, BigDecimal startAmount) {
         // Verificar que no haya caja abierta
         if (cashShiftRepository.hasCashShiftOpen(businessId)) {
-            throw new IllegalStateException("Ya hay una caja abierta para este negocio. Ciérrala primero.");
+            throw new IllegalStateException(OPEN_CASH_SHIFT_EXISTS);
         }
 
         CashShift cashShift = CashShift.builder()
@@ -55,32 +65,146 @@ public class CashShiftService {
                 .startAmount(startAmount)
                 .build();
 
-        return cashShiftRepository.save(cashShift);
+        // Dos aperturas simultáneas pasan el chequeo de arriba: el índice único parcial
+        // uq_cash_shifts_open_business (V3) rechaza la segunda en el INSERT
+        try {
+            cashShift = cashShiftRepository.saveAndFlush(cashShift);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(OPEN_CASH_SHIFT_EXISTS, e);
+        }
+
+        eventPublisher.publishEvent(new CashShiftChangedEvent(businessId, cashShift.getId()));
+        return cashShift;
     }
 
     /**
      * Cierra la caja abierta de un negocio
      * 
+     * Los totales ya están al día (se mantienen en vivo con cada pedido), así que
+     * el cierre solo bloquea la caja, la marca como cerrada y pasa los pedidos a
+     * entregados con un único UPDATE masivo: cuesta lo mismo con 20 o con 2.000 pedidos.
+     * 
      * @param businessId ID del negocio
      * @param endAmount Monto final de la caja
-     * @return CashShift cerrada
+     * @return CashShift cerrada (con sus totales)
      * @throws EntityNotFoundException si no hay caja abierta
      */
     @Transactional
     public CashShift closeCashShift(Long businessId, BigDecimal endAmount) {
-        CashShift cashShift = cashShiftRepository.findOpenCashShift(businessId)
+        // FOR UPDATE: espera a los pedidos en curso para leer sus totales ya sumados
+        CashShift cashShift = cashShiftRepository.findOpenCashShiftForUpdate(businessId)
                 .orElseThrow(() -> new EntityNotFoundException("No hay caja abierta para este negocio"));
 
+        LocalDateTime now = LocalDateTime.now();
         cashShift.setStatus(CashShiftStatus.CLOSED);
-        cashShift.setEndDate(LocalDateTime.now());
+        cashShift.setEndDate(now);
         cashShift.setEndAmount(endAmount);
 
-        // Marcar todos los pedidos de esta caja como entregados
-        List<Order> orders = orderRepository.findByBusinessIdAndCashShiftOrderByCreatedAtDesc(businessId, cashShift);
-        orders.forEach(order -> order.setOrderStatus(OrderStatus.DELIVERED));
-        orderRepository.saveAll(orders);
+        // Marcar todos los pedidos de esta caja como entregados (un solo UPDATE).
+        // El UPDATE primero hace flush de la caja y luego limpia el contexto de persistencia.
+        int delivered = orderRepository.updateStatusByCashShift(cashShift, OrderStatus.DELIVERED, now);
 
-        return cashShiftRepository.save(cashShift);
+        eventPublisher.publishEvent(new CashShiftChangedEvent(businessId, null));
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                businessId, OrderStatusChangedEvent.CASH_SHIFT_CLOSE, OrderStatus.DELIVERED, delivered));
+        return cashShift;
+    }
+
+    /**
+     * Bloquea las cajas de un lote de pedidos antes de tocar los pedidos
+     * 
+     * Mismo orden de locks que closeCashShift y applyOrderChange (caja -> pedidos);
+     * entre cajas, por ID ascendente.
+     * 
+     * @param cashShiftIds IDs de las cajas (vacío = no hace nada)
+     */
+    @Transactional
+    public void lockForOrderChanges(Collection<Long> cashShiftIds) {
+        if (!cashShiftIds.isEmpty()) {
+            cashShiftRepository.findAllForUpdate(cashShiftIds);
+        }
+    }
+
+    /**
+     * Suma a los totales en vivo de una caja la diferencia que produjo un cambio de pedido
+     * 
+     * Se llama ANTES de escribir el pedido: el UPDATE de la caja toma su lock
+     * primero, en el mismo orden que closeCashShift (caja -> pedidos). Si el
+     * cierre está en curso, el cambio espera a que termine y se rechaza.
+     * Un cambio que no mueve los totales no toca la caja.
+     * 
+     * @param cashShift Caja del pedido
+     * @param before Aporte del pedido antes del cambio
+     * @param after Aporte del pedido después del cambio
+     * @throws IllegalArgumentException si el cambio mueve los totales de una caja cerrada
+     */
+    @Transactional
+    public void applyOrderChange(CashShift cashShift, CashShiftTotals before, CashShiftTotals after) {
+        CashShiftTotals delta = after.minus(before);
+        if (!delta.isZero() && cashShiftRepository.addTotalsIfOpenWithoutFlush(cashShift.getId(), delta) == 0) {
+            throw new IllegalArgumentException(CASH_SHIFT_CLOSED);
+        }
+    }
+
+    /**
+     * Suma un pedido nuevo a los totales de la caja abierta
+     * 
+     * La caja suele venir de OpenCashShiftRegistry (sin query): el UPDATE de
+     * totales solo se aplica si sigue abierta, así que además la confirma.
+     * Si otra instancia la cerró, se busca la caja abierta actual en la base.
+     * 
+     * @param businessId ID del negocio
+     * @param cashShift Caja abierta según el registro
+     * @param contribution Aporte del pedido (CashShiftTotals.of)
+     * @return Caja a la que quedó asignado el pedido
+     * @throws EntityNotFoundException si ya no hay caja abierta
+     */
+    @Transactional
+    public CashShift addNewOrder(Long businessId, CashShift cashShift, CashShiftTotals contribution) {
+        if (cashShiftRepository.addTotalsIfOpen(cashShift.getId(), contribution) == 1) {
+            return cashShift;
+        }
+
+        // El registro estaba desactualizado (la caja se cerró en otra instancia)
+        openCashShiftRegistry.evict(businessId, cashShift.getId());
+        CashShift current = getOpenCashShift(businessId);
+        if (cashShiftRepository.addTotalsIfOpen(current.getId(), contribution) == 0) {
+            throw new EntityNotFoundException("No hay caja abierta para este negocio");
+        }
+        openCashShiftRegistry.register(businessId, current.getId());
+        return current;
+    }
+
+    /**
+     * Referencia a la caja abierta de un negocio, sin query si está en OpenCashShiftRegistry
+     * 
+     * Solo trae el ID (proxy lazy): alcanza para asignarla a un pedido o filtrar
+     * por ella. Para sus datos (montos, fechas) usar getOpenCashShift.
+     * 
+     * @param businessId ID del negocio
+     * @return Optional con la caja abierta, vacío si no hay caja abierta
+     */
+    @Transactional(readOnly = true)
+    public Optional<CashShift> findOpenCashShiftReference(Long businessId) {
+        Optional<Long> registered = openCashShiftRegistry.get(businessId);
+        if (registered.isPresent()) {
+            return Optional.of(cashShiftRepository.getReferenceById(registered.get()));
+        }
+
+        Optional<CashShift> open = cashShiftRepository.findOpenCashShift(businessId);
+        open.ifPresent(cashShift -> openCashShiftRegistry.register(businessId, cashShift.getId()));
+        return open;
+    }
+
+    /**
+     * Igual que findOpenCashShiftReference, pero exige que haya caja abierta
+     * 
+     * @throws EntityNotFoundException si no hay caja abierta
+     */
+    @Transactional(readOnly = true)
+    public CashShift getOpenCashShiftReference(Long businessId) {
+        return findOpenCashShiftReference(businessId)
+                .orElseThrow(() -> new EntityNotFoundException("No hay caja abierta para este negocio"));
     }
 
     /**
@@ -3,6 +3,7 @@ package com.pizzeria.backend.service;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +26,7 @@ public class ComboService {
     private final ComboRepository comboRepository;
     private final ProductRepository productRepository;
     private final ComboMapper comboMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ComboResponse createCombo(Long businessId, ComboRequest request) {
@@ -54,6 +56,7 @@ public class ComboService {
 
         // 3. Guardar (CascadeType.ALL guardará los items automáticamente)
         Combo savedCombo = comboRepository.save(combo);
+        eventPublisher.publishEvent(new MenuChangedEvent(businessId));
 
         return comboMapper.toResponse(savedCombo);
     }
@@ -72,5 +75,6 @@ public class ComboService {
         
         combo.setActive(false);
         comboRepository.save(combo);
+        eventPublisher.publishEvent(new MenuChangedEvent(businessId));
     }
 }
\ No newline at end of file
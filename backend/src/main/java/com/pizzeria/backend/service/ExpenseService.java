@@ -2,12 +2,19 @@ package com.pizzeria.backend.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.pizzeria.backend.dto.common.CursorPage;
+import com.pizzeria.backend.dto.common.KeysetCursor;
+import com.pizzeria.backend.dto.expense.ExpenseItemRequest;
 import com.pizzeria.backend.dto.expense.ExpenseItemResponse;
 import com.pizzeria.backend.dto.expense.ExpenseRequest;
 import com.pizzeria.backend.dto.expense.ExpenseResponse;
@@ -19,7 +26,6 @@ import com.pizzeria.backend.model.Supplier;
 import com.pizzeria.backend.model.Supply;
 import com.pizzeria.backend.repository.ExpenseRepository;
 import com.pizzeria.backend.repository.SupplierRepository;
-import com.pizzeria.backend.repository.SupplyRepository;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -35,7 +41,7 @@ import lombok.RequiredArgsConstructor;
  * 
  * Flujo de creación:
  *  1. Recibe ExpenseRequest con lista de ExpenseItemRequest
- *  2. Valida que existan los insumos (supplies) referenciados
+ *  2. Valida que existan los insumos (supplies) referenciados (una sola query, ver SupplyResolver)
  *  3. Calcula el subtotal de cada línea (quantity * unitPrice)
  *  4. Calcula el total del gasto (suma de subtotales)
  *  5. Persiste Expense y sus ExpenseItem en cascada
@@ -44,8 +50,10 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ExpenseService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final ExpenseRepository expenseRepository;
-    private final SupplyRepository supplyRepository;
+    private final SupplyResolver supplyResolver;
     private final SupplierRepository supplierRepository;
     private final ExpenseMapper expenseMapper;
     private final ExpenseItemMapper expenseItemMapper;
@@ -72,30 +80,9 @@ public class ExpenseService {
             expense.setSupplier(supplier);
         }
 
-        // 3. Crear y validar los ExpenseItem
-        List<ExpenseItem> items = request.items().stream()
-                .map(itemRequest -> {
-                    // Verificar que el supply existe y pertenece al negocio
-                    Supply supply = supplyRepository.findByIdAndBusinessId(itemRequest.supplyId(), businessId)
-                            .orElseThrow(() -> new EntityNotFoundException(
-                                    "Insumo con ID " + itemRequest.supplyId() + " no encontrado"));
-
-                    // Crear el item con cálculo de subtotal
-                    BigDecimal subtotal = itemRequest.unitPrice()
-                            .multiply(new BigDecimal(itemRequest.quantity()));
-
-                    ExpenseItem item = ExpenseItem.builder()
-                            .expense(expense)
-                            .supply(supply)
-                            .quantity(itemRequest.quantity())
-                            .unitPrice(itemRequest.unitPrice())
-                            .subtotal(subtotal)
-                            .build();
-
-                    return item;
-                })
-                .collect(Collectors.toList());
-
+        // 3. Crear y validar los ExpenseItem (insumos resueltos en lote)
+        Map<Long, Supply> supplies = supplyResolver.resolve(businessId, request.items());
+        List<ExpenseItem> items = buildItems(expense, request.items(), supplies);
         expense.setItems(items);
 
         // 4. Calcular el total del gasto (suma de subtotales)
@@ -125,6 +112,63 @@ public class ExpenseService {
                 .toList();
     }
 
+    /**
+     * LEER gastos de un negocio paginados por keyset (más recientes primero)
+     * 
+     * Dos fases: primero se piden solo los IDs de la página (LIMIT en la BD) y
+     * después proveedor, items e insumos de esos gastos en una única query.
+     * Memoria y latencia dependen del tamaño de página, no del historial.
+     * 
+     * @param businessId ID del negocio
+     * @param cursor Cursor devuelto por la página anterior (null = primera página)
+     * @param size Tamaño de página (se acota a MAX_PAGE_SIZE)
+     * @return Página de gastos y cursor para la siguiente
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ExpenseResponse> getExpensePage(Long businessId, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+
+        // Pedimos un ID extra para saber si hay página siguiente
+        Limit limit = Limit.of(pageSize + 1);
+        List<Long> ids;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            ids = expenseRepository.findPageIdsBefore(businessId, parseCursorDate(position.sortKey()),
+                    position.id(), limit);
+        } else {
+            ids = expenseRepository.findPageIds(businessId, limit);
+        }
+
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        // Segunda fase: detalle de la página, devuelto en el orden de la primera
+        Map<Long, Expense> detailed = expenseRepository.findWithDetailsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Expense::getId, Function.identity()));
+        List<ExpenseResponse> items = pageIds.stream()
+                .map(id -> mapToResponse(detailed.get(id)))
+                .toList();
+
+        String nextCursor = null;
+        if (hasMore) {
+            ExpenseResponse last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.date().toString(), last.id()).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private static LocalDate parseCursorDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido", ex);
+        }
+    }
+
     /**
      * LEER un gasto específico
      * @param businessId ID del negocio
@@ -169,29 +213,13 @@ public class ExpenseService {
         }
 
         // 3. Reemplazar items (orphanRemoval borrará los viejos)
-        expense.getItems().clear();
-
-        List<ExpenseItem> newItems = request.items().stream()
-                .map(itemRequest -> {
-                    Supply supply = supplyRepository.findByIdAndBusinessId(itemRequest.supplyId(), businessId)
-                            .orElseThrow(() -> new EntityNotFoundException("Insumo no encontrado"));
-
-                    BigDecimal subtotal = itemRequest.unitPrice()
-                            .multiply(new BigDecimal(itemRequest.quantity()));
-
-                    ExpenseItem item = ExpenseItem.builder()
-                            .expense(expense)
-                            .supply(supply)
-                            .quantity(itemRequest.quantity())
-                            .unitPrice(itemRequest.unitPrice())
-                            .subtotal(subtotal)
-                            .build();
-
-                    return item;
-                })
-                .collect(Collectors.toList());
+        // Se resuelven los insumos ANTES de tocar la colección: si falta alguno, el gasto queda intacto
+        Map<Long, Supply> supplies = supplyResolver.resolve(businessId, request.items());
+        List<ExpenseItem> newItems = buildItems(expense, request.items(), supplies);
 
-        expense.setItems(newItems);
+        // Misma colección (no setItems): Hibernate necesita seguir la lista original para el orphanRemoval
+        expense.getItems().clear();
+        expense.getItems().addAll(newItems);
 
         // 4. Recalcular el total
         BigDecimal total = newItems.stream()
@@ -251,12 +279,40 @@ public class ExpenseService {
     }
 
     /**
-     * HELPER privado: Convierte Expense a ExpenseResponse con mapeo de items
+     * HELPER privado: Crea los ExpenseItem de un gasto calculando el subtotal de cada línea
+     * 
+     * @param expense Gasto al que pertenecen las líneas
+     * @param itemRequests Líneas del request
+     * @param supplies Insumos ya resueltos por SupplyResolver
+     * @return Lista de ExpenseItem (sin persistir)
+     */
+    private List<ExpenseItem> buildItems(Expense expense, List<ExpenseItemRequest> itemRequests,
+            Map<Long, Supply> supplies) {
+        return itemRequests.stream()
+                .map(itemRequest -> {
+                    // Crear el item con cálculo de subtotal
+                    BigDecimal subtotal = itemRequest.unitPrice()
+                            .multiply(new BigDecimal(itemRequest.quantity()));
+
+                    return ExpenseItem.builder()
+                            .expense(expense)
+                            .supply(supplies.get(itemRequest.supplyId()))
+                            .quantity(itemRequest.quantity())
+                            .unitPrice(itemRequest.unitPrice())
+                            .subtotal(subtotal)
+                            .build();
+                })
+                .collect(Collectors.toList()); // Mutable: Hibernate la administra
+    }
+
+    /**
+     * HELPER: Convierte Expense a ExpenseResponse con mapeo de items
+     * (package-private para poder medirlo en ExpenseMappingBenchmark)
      * 
      * @param expense Entidad Expense con sus items cargados
      * @return DTO ExpenseResponse con información completa
      */
-    private ExpenseResponse mapToResponse(Expense expense) {
+    ExpenseResponse mapToResponse(Expense expense) {
         List<ExpenseItemResponse> itemResponses = expense.getItems() != null
                 ? expense.getItems().stream()
                         .map(expenseItemMapper::toResponse)
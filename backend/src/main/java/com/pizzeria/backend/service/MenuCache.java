@@ -0,0 +1,132 @@
+package com.pizzeria.backend.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pizzeria.backend.dto.combo.ComboResponse;
+import com.pizzeria.backend.dto.product.ProductResponse;
+import com.pizzeria.backend.repository.BusinessRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Carta (productos y combos activos) en memoria por negocio.
+ *
+ * El diálogo de nuevo pedido recarga la carta todo el tiempo, pero la carta
+ * cambia pocas veces por semana. Cada snapshot guarda la lista ya mapeada y
+ * un ETag fuerte, así un cliente con la versión vigente recibe un 304 sin
+ * tocar la base.
+ *
+ * ETag: businesses.menu_version, que se incrementa en la misma transacción de
+ * cada cambio de producto o combo. Es el mismo en todas las instancias.
+ *
+ * Invalidación: cualquier cambio (MenuChangedEvent) descarta AMBOS snapshots
+ * del negocio, porque los combos muestran el nombre de sus productos. El
+ * evento es local: en otra instancia el snapshot vive hasta el TTL.
+ */
+@Component
+public class MenuCache {
+
+    private final ProductService productService;
+    private final ComboService comboService;
+    private final BusinessRepository businessRepository;
+
+    // Async: la carga corre fuera del lock del mapa; invalidar descarta también una carga en curso
+    private final AsyncCache<Long, Snapshot<ProductResponse>> products;
+    private final AsyncCache<Long, Snapshot<ComboResponse>> combos;
+
+    public MenuCache(
+            ProductService productService,
+            ComboService comboService,
+            BusinessRepository businessRepository,
+            @Value("${application.menu-cache.max-size}") long maxSize,
+            @Value("${application.menu-cache.ttl}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.productService = productService;
+        this.comboService = comboService;
+        this.businessRepository = businessRepository;
+        this.products = newCache(maxSize, ttl);
+        this.combos = newCache(maxSize, ttl);
+        CaffeineCacheMetrics.monitor(meterRegistry, products, "menu_products");
+        CaffeineCacheMetrics.monitor(meterRegistry, combos, "menu_combos");
+    }
+
+    /**
+     * Snapshot inmutable de una parte de la carta
+     *
+     * @param items Elementos activos ya mapeados a DTO
+     * @param etag ETag fuerte (entre comillas) de la versión de la carta
+     */
+    public record Snapshot<T>(List<T> items, String etag) {}
+
+    public Snapshot<ProductResponse> products(Long businessId) {
+        return get(products, businessId, id -> snapshot("p", id, productService::getAllProducts));
+    }
+
+    public Snapshot<ComboResponse> combos(Long businessId) {
+        return get(combos, businessId, id -> snapshot("c", id, comboService::getAllCombos));
+    }
+
+    /**
+     * BEFORE_COMMIT: la nueva versión se confirma (o se descarta) junto con el cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMenuChanging(MenuChangedEvent changed) {
+        businessRepository.incrementMenuVersion(changed.businessId());
+    }
+
+    /**
+     * AFTER_COMMIT: si la transacción hace rollback, el snapshot sigue siendo válido
+     */
+    @TransactionalEventListener
+    public void onMenuChanged(MenuChangedEvent changed) {
+        products.synchronous().invalidate(changed.businessId());
+        combos.synchronous().invalidate(changed.businessId());
+    }
+
+    private static <T> AsyncCache<Long, Snapshot<T>> newCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    // Quien no encuentra el negocio carga en su propio thread; los que llegan mientras tanto esperan esa carga
+    private static <T> Snapshot<T> get(AsyncCache<Long, Snapshot<T>> cache, Long businessId,
+                                       Function<Long, Snapshot<T>> loader) {
+        CompletableFuture<Snapshot<T>> loading = new CompletableFuture<>();
+        CompletableFuture<Snapshot<T>> snapshot = cache.get(businessId, (id, executor) -> loading);
+        if (snapshot == loading) {
+            try {
+                loading.complete(loader.apply(businessId));
+            } catch (RuntimeException ex) {
+                loading.completeExceptionally(ex); // Caffeine saca las cargas fallidas
+                throw ex;
+            }
+        }
+        try {
+            return snapshot.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    // La versión se lee ANTES que la lista: el contenido nunca es más viejo que su ETag
+    private <T> Snapshot<T> snapshot(String prefix, Long businessId, Function<Long, List<T>> items) {
+        long version = businessRepository.findMenuVersion(businessId).orElse(0L);
+        return new Snapshot<>(List.copyOf(items.apply(businessId)), "\"" + prefix + version + "\"");
+    }
+}
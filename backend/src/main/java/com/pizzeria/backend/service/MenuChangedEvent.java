@@ -0,0 +1,9 @@
+package com.pizzeria.backend.service;
+
+/**
+ * Evento interno que publican ProductService y ComboService al modificar la carta.
+ * MenuCache descarta el snapshot del negocio recién después del commit.
+ */
+public record MenuChangedEvent(
+    Long businessId
+) {}
@@ -0,0 +1,63 @@
+package com.pizzeria.backend.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * ID de la caja abierta de cada negocio, en memoria.
+ *
+ * Cada alta de pedido necesita la caja abierta, que cambia dos veces por día.
+ * Se llena al abrir la caja (o en la primera búsqueda) y se vacía al cerrarla.
+ *
+ * Con varias instancias, otra puede haber cerrado la caja: el alta de pedidos
+ * no confía ciegamente en este registro sino que confirma la caja con el mismo
+ * UPDATE que suma sus totales (CashShiftRepository.addTotalsIfOpen). Las
+ * lecturas (tablero de pedidos) quedan acotadas por el TTL.
+ */
+@Component
+public class OpenCashShiftRegistry {
+
+    private final Cache<Long, Long> openCashShiftIds;
+
+    public OpenCashShiftRegistry(
+            @Value("${application.cash-shift.open-registry.max-size}") long maxSize,
+            @Value("${application.cash-shift.open-registry.ttl}") Duration ttl
+    ) {
+        this.openCashShiftIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Optional<Long> get(Long businessId) {
+        return Optional.ofNullable(openCashShiftIds.getIfPresent(businessId));
+    }
+
+    public void register(Long businessId, Long cashShiftId) {
+        openCashShiftIds.put(businessId, cashShiftId);
+    }
+
+    // Solo si sigue apuntando a esa caja: no borra una más nueva registrada mientras tanto
+    public void evict(Long businessId, Long cashShiftId) {
+        openCashShiftIds.asMap().remove(businessId, cashShiftId);
+    }
+
+    /**
+     * AFTER_COMMIT: una apertura o cierre que hace rollback no cambia el registro
+     */
+    @TransactionalEventListener
+    public void onCashShiftChanged(CashShiftChangedEvent changed) {
+        if (changed.openCashShiftId() != null) {
+            register(changed.businessId(), changed.openCashShiftId());
+        } else {
+            openCashShiftIds.invalidate(changed.businessId());
+        }
+    }
+}
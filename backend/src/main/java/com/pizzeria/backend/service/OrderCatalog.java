@@ -0,0 +1,108 @@
+package com.pizzeria.backend.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import com.pizzeria.backend.dto.order.OrderItemRequest;
+import com.pizzeria.backend.model.Combo;
+import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.OrderItem;
+import com.pizzeria.backend.model.Product;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Catálogo de productos y combos ya resueltos para un pedido.
+ *
+ * Lo arma {@link OrderCatalogResolver} con una query por tipo (productos / combos),
+ * así el cálculo de precios trabaja solo en memoria, sin ir a la BD por cada ítem.
+ *
+ * @param products Productos del negocio indexados por ID
+ * @param combos Combos del negocio indexados por ID
+ */
+public record OrderCatalog(
+    Map<Long, Product> products,
+    Map<Long, Combo> combos
+) {
+
+    /**
+     * Busca un producto del catálogo
+     *
+     * @throws EntityNotFoundException si el ID no existe o no pertenece al negocio
+     */
+    public Product product(Long productId) {
+        Product product = products.get(productId);
+        if (product == null) {
+            throw new EntityNotFoundException("Producto ID " + productId + " no encontrado");
+        }
+        return product;
+    }
+
+    /**
+     * Busca un combo del catálogo
+     *
+     * @throws EntityNotFoundException si el ID no existe o no pertenece al negocio
+     */
+    public Combo combo(Long comboId) {
+        Combo combo = combos.get(comboId);
+        if (combo == null) {
+            throw new EntityNotFoundException("Combo ID " + comboId + " no encontrado");
+        }
+        return combo;
+    }
+
+    /**
+     * Crea los OrderItem del pedido congelando el precio ACTUAL de cada producto/combo.
+     *
+     * Los ítems se procesan en el orden del request, por lo que el primer error
+     * (XOR inválido o ID inexistente) es el mismo que se reportaba antes.
+     *
+     * @param order Pedido al que se agregan los ítems
+     * @param items Ítems del request
+     * @return Total del pedido (suma de subtotales)
+     */
+    public BigDecimal addItemsTo(Order order, List<OrderItemRequest> items) {
+        BigDecimal totalAmount = BigDecimal.ZERO;
+
+        for (var itemReq : items) {
+            // Validación XOR (Producto O Combo)
+            if (!itemReq.isValid()) {
+                throw new IllegalArgumentException("Cada ítem debe ser un Producto O un Combo (no ambos, no ninguno)");
+            }
+
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setQuantity(itemReq.quantity());
+
+            BigDecimal currentPrice;
+
+            if (itemReq.productId() != null) {
+                // Es un Producto
+                Product p = product(itemReq.productId());
+                item.setProduct(p);
+                currentPrice = p.getPrice(); // Tomamos el precio ACTUAL
+            } else {
+                // Es un Combo
+                Combo c = combo(itemReq.comboId());
+                item.setCombo(c);
+                currentPrice = c.getPrice(); // Tomamos el precio ACTUAL
+            }
+
+            // CONGELAR PRECIOS
+            item.setUnitPrice(currentPrice);
+
+            // Calcular Subtotal
+            BigDecimal subtotal = currentPrice.multiply(BigDecimal.valueOf(itemReq.quantity()));
+            item.setSubtotal(subtotal);
+
+            // Sumar al total general
+            totalAmount = totalAmount.add(subtotal);
+
+            // Agregar a la lista del pedido
+            order.getItems().add(item);
+        }
+
+        return totalAmount;
+    }
+}
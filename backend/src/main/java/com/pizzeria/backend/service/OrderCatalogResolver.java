@@ -0,0 +1,67 @@
+package com.pizzeria.backend.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.pizzeria.backend.dto.order.OrderItemRequest;
+import com.pizzeria.backend.model.Combo;
+import com.pizzeria.backend.model.Product;
+import com.pizzeria.backend.repository.ComboRepository;
+import com.pizzeria.backend.repository.ProductRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resuelve en lote los productos y combos referenciados por un pedido.
+ *
+ * En lugar de una query por ítem, junta todos los IDs del request y hace
+ * como máximo dos queries (una para productos y otra para combos), siempre
+ * filtrando por businessId (multi-tenant).
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderCatalogResolver {
+
+    private final ProductRepository productRepository;
+    private final ComboRepository comboRepository;
+
+    /**
+     * @param businessId ID del negocio
+     * @param items Ítems del pedido
+     * @return Catálogo con los productos/combos encontrados (los faltantes se reportan al usarlos)
+     */
+    public OrderCatalog resolve(Long businessId, List<OrderItemRequest> items) {
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> comboIds = new HashSet<>();
+
+        for (var itemReq : items) {
+            // Los ítems inválidos se rechazan luego, en el mismo orden que el request
+            if (!itemReq.isValid()) {
+                continue;
+            }
+            if (itemReq.productId() != null) {
+                productIds.add(itemReq.productId());
+            } else {
+                comboIds.add(itemReq.comboId());
+            }
+        }
+
+        Map<Long, Product> products = productIds.isEmpty()
+                ? Map.of()
+                : productRepository.findByIdInAndBusinessId(productIds, businessId).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<Long, Combo> combos = comboIds.isEmpty()
+                ? Map.of()
+                : comboRepository.findByIdInAndBusinessId(comboIds, businessId).stream()
+                        .collect(Collectors.toMap(Combo::getId, Function.identity()));
+
+        return new OrderCatalog(products, combos);
+    }
+}
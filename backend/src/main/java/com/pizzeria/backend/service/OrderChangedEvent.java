@@ -0,0 +1,12 @@
+package com.pizzeria.backend.service;
+
+import com.pizzeria.backend.dto.order.OrderEvent;
+
+/**
+ * Evento interno (ApplicationEvent) que publica OrderService al modificar un pedido.
+ * OrderEventStream lo reenvía a los clientes SSE recién después del commit.
+ */
+public record OrderChangedEvent(
+    Long businessId,
+    OrderEvent event
+) {}
@@ -0,0 +1,269 @@
+package com.pizzeria.backend.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.pizzeria.backend.dto.order.OrderEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tablero de pedidos en vivo (Server-Sent Events) por negocio.
+ *
+ * Responsabilidades:
+ * - Mantener las conexiones SSE abiertas de cada businessId
+ * - Reenviar los cambios de pedidos (deltas) SOLO después del commit
+ * - Guardar los últimos eventos para que un cliente que se reconecta con
+ *   Last-Event-ID reciba lo que se perdió sin recargar la lista completa
+ *
+ * El thread que commitea solo encola: cada conexión tiene su cola acotada y
+ * la escritura al socket la hace un pool fijo de threads. Un cliente lento que
+ * llena su cola se desconecta (al reconectar recupera lo perdido con Last-Event-ID).
+ *
+ * Los IDs de evento son "<arranque>-<n>": el instante de arranque de esta
+ * instancia y un correlativo por negocio. Si el cliente pide reanudar desde un
+ * ID de otro arranque (reinicio u otra instancia) o que ya no está en memoria,
+ * se le envía un evento "resync" para que recargue GET /api/orders una sola vez.
+ */
+@Component
+public class OrderEventStream {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventStream.class);
+
+    static final String ORDER_EVENT = "order";
+    static final String RESYNC_EVENT = "resync";
+    private static final int HISTORY_SIZE = 256;
+    private static final long EMITTER_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+
+    // Entra un replay completo del historial más los eventos que lleguen mientras se envía
+    private static final int SUBSCRIBER_QUEUE_SIZE = HISTORY_SIZE * 2;
+    private static final int SENDER_THREADS = 4;
+    // Cada conexión tiene a lo sumo un envío pendiente en el pool
+    private static final int SENDER_QUEUE_SIZE = 1_000;
+
+    private final long bootEpoch = System.currentTimeMillis();
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService sender = new ThreadPoolExecutor(
+            SENDER_THREADS, SENDER_THREADS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(SENDER_QUEUE_SIZE),
+            new CustomizableThreadFactory("sse-sender-"));
+
+    /**
+     * Abre una conexión SSE para un negocio
+     *
+     * @param businessId ID del negocio
+     * @param lastEventId Último evento recibido por el cliente (null = conexión nueva)
+     * @return Emitter que Spring MVC mantiene abierto
+     */
+    public SseEmitter subscribe(Long businessId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Channel channel = channels.computeIfAbsent(businessId, id -> new Channel());
+        Subscriber subscriber = new Subscriber(channel, emitter);
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+
+        String resyncFrom = null;
+        channel.lock.lock();
+        try {
+            if (lastEventId != null && !replay(channel, subscriber, lastEventId)) {
+                resyncFrom = eventId(channel.lastEventId);
+            } else {
+                channel.subscribers.add(subscriber);
+            }
+        } finally {
+            channel.lock.unlock();
+        }
+
+        if (resyncFrom != null) {
+            resync(emitter, resyncFrom);
+        }
+        return emitter;
+    }
+
+    /**
+     * Recibe los cambios publicados por OrderService. Al ser AFTER_COMMIT,
+     * un rollback nunca llega a los clientes.
+     */
+    @TransactionalEventListener
+    public void onOrderChanged(OrderChangedEvent changed) {
+        Channel channel = channels.computeIfAbsent(changed.businessId(), id -> new Channel());
+
+        channel.lock.lock();
+        try {
+            StoredEvent stored = new StoredEvent(++channel.lastEventId, changed.event());
+            channel.history.addLast(stored);
+            if (channel.history.size() > HISTORY_SIZE) {
+                channel.history.removeFirst();
+            }
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.enqueue(toSse(stored));
+            }
+        } finally {
+            channel.lock.unlock();
+        }
+    }
+
+    /**
+     * Comentario periódico para que proxies y navegadores no corten la conexión
+     * y para detectar clientes que ya se desconectaron.
+     */
+    @Scheduled(fixedRate = 20_000)
+    public void heartbeat() {
+        channels.values().forEach(channel -> channel.subscribers
+                .forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    // Encola los eventos posteriores a lastEventId. Devuelve false si hay que pedir resync.
+    private boolean replay(Channel channel, Subscriber subscriber, String lastEventId) {
+        Long lastSeen = sequenceOf(lastEventId);
+        long oldestAvailable = channel.history.isEmpty()
+                ? channel.lastEventId + 1
+                : channel.history.peekFirst().id();
+
+        if (lastSeen == null || lastSeen > channel.lastEventId || lastSeen < oldestAvailable - 1) {
+            return false;
+        }
+
+        for (StoredEvent stored : channel.history) {
+            if (stored.id() > lastSeen) {
+                subscriber.enqueue(toSse(stored));
+            }
+        }
+        return true;
+    }
+
+    // El resync lleva el ID actual: al reconectar, el navegador reanuda desde ahí
+    private void resync(SseEmitter emitter, String currentEventId) {
+        try {
+            emitter.send(SseEmitter.event().id(currentEventId).name(RESYNC_EVENT).data(currentEventId));
+            emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            emitter.completeWithError(ex);
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSse(StoredEvent stored) {
+        return SseEmitter.event()
+                .id(eventId(stored.id()))
+                .name(ORDER_EVENT)
+                .data(stored.event());
+    }
+
+    private String eventId(long sequence) {
+        return bootEpoch + "-" + sequence;
+    }
+
+    // Correlativo de un ID "<arranque>-<n>" de esta instancia; null si es de otro arranque o no se entiende
+    private Long sequenceOf(String eventId) {
+        int dash = eventId.indexOf('-');
+        if (dash < 0 || !eventId.substring(0, dash).equals(String.valueOf(bootEpoch))) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private record StoredEvent(long id, OrderEvent event) {}
+
+    // Estado por negocio: conexiones abiertas + últimos eventos (guardado por lock).
+    // Adentro del lock solo se encola, nunca se escribe a un socket
+    private static final class Channel {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final Deque<StoredEvent> history = new ArrayDeque<>();
+        private long lastEventId;
+    }
+
+    // Una conexión: cola acotada de eventos pendientes que vacía un thread del pool.
+    // Cada SseEventBuilder se envía a una sola conexión (build() no es reutilizable)
+    private final class Subscriber {
+        private final Channel channel;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending =
+                new ArrayBlockingQueue<>(SUBSCRIBER_QUEUE_SIZE);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Channel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                log.debug("Cliente SSE lento (cola llena), se desconecta");
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    log.debug("Pool de envío SSE lleno, se desconecta el cliente");
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException ex) {
+                        log.debug("Cliente SSE desconectado: {}", ex.getMessage());
+                        close();
+                    }
+                }
+                draining.set(false);
+                // Un evento encolado entre el último poll y el set(false) no programó otro drain
+            } while (!closed && !pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            channel.subscribers.remove(this);
+            pending.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.pizzeria.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pizzeria.backend.dto.order.OrderResponse;
+import com.pizzeria.backend.mapper.OrderMapper;
+import com.pizzeria.backend.model.OrderIdempotencyKey;
+import com.pizzeria.backend.repository.OrderIdempotencyKeyRepository;
+import com.pizzeria.backend.repository.OrderRepository;
+
+/**
+ * Claves Idempotency-Key de alta de pedidos: en memoria (acotada) y en la tabla
+ * order_idempotency_keys, las dos con el mismo TTL.
+ *
+ * La memoria guarda la respuesta tal como salió: un reintento en la misma
+ * instancia no toca la BD. La tabla cubre reinicios y otras instancias; desde
+ * ahí se responde con el pedido actual (una query con su fetch plan).
+ */
+@Component
+public class OrderIdempotencyStore {
+
+    private final OrderIdempotencyKeyRepository keyRepository;
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final Cache<Key, Stored> recent;
+    private final Duration ttl;
+
+    public OrderIdempotencyStore(
+            OrderIdempotencyKeyRepository keyRepository,
+            OrderRepository orderRepository,
+            OrderMapper orderMapper,
+            @Value("${application.idempotency.orders.max-size}") long maxSize,
+            @Value("${application.idempotency.orders.ttl}") Duration ttl
+    ) {
+        this.keyRepository = keyRepository;
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.ttl = ttl;
+    }
+
+    /**
+     * Busca un alta ya hecha con esta clave
+     *
+     * @param businessId ID del negocio
+     * @param idempotencyKey Valor del header
+     * @param requestHash Hash del cuerpo del request actual
+     * @return Pedido creado con la clave, vacío si la clave no se usó (o venció)
+     * @throws IllegalArgumentException si la clave se usó con otro pedido
+     */
+    @Transactional
+    public Optional<OrderResponse> find(Long businessId, String idempotencyKey, String requestHash) {
+        Key key = new Key(businessId, idempotencyKey);
+        Stored stored = recent.getIfPresent(key);
+        if (stored != null) {
+            return Optional.of(checked(stored.requestHash(), requestHash, stored.response()));
+        }
+
+        Optional<OrderIdempotencyKey> saved = keyRepository.findByBusinessIdAndIdempotencyKey(businessId, idempotencyKey);
+        if (saved.isEmpty()) {
+            return Optional.empty();
+        }
+        // Vencida pero todavía no purgada: se libera para este request
+        if (!saved.get().getExpiresAt().isAfter(LocalDateTime.now())) {
+            keyRepository.delete(saved.get());
+            keyRepository.flush();
+            return Optional.empty();
+        }
+        checked(saved.get().getRequestHash(), requestHash, null);
+        OrderResponse response = orderRepository.findByIdAndBusinessId(saved.get().getOrderId(), businessId)
+                .map(orderMapper::toResponse)
+                .orElseThrow(() -> new IllegalStateException("Pedido de la clave " + idempotencyKey + " no encontrado"));
+        recent.put(key, new Stored(requestHash, response));
+        return Optional.of(response);
+    }
+
+    /**
+     * Registra la clave dentro de la transacción que crea el pedido. El flush
+     * inmediato hace que un reintento simultáneo choque acá (restricción única)
+     * y no al commit.
+     */
+    @Transactional
+    public void record(Long businessId, String idempotencyKey, String requestHash, Long orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        keyRepository.saveAndFlush(OrderIdempotencyKey.builder()
+                .businessId(businessId)
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .orderId(orderId)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+    }
+
+    // Solo después del commit: una clave de un pedido que hizo rollback no se recuerda
+    public void remember(Long businessId, String idempotencyKey, String requestHash, OrderResponse response) {
+        recent.put(new Key(businessId, idempotencyKey), new Stored(requestHash, response));
+    }
+
+    @Scheduled(fixedDelayString = "${application.idempotency.orders.purge-interval}")
+    @Transactional
+    public void purgeExpired() {
+        keyRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private static OrderResponse checked(String storedHash, String requestHash, OrderResponse response) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IllegalArgumentException("La Idempotency-Key ya se usó con otro pedido");
+        }
+        return response;
+    }
+
+    private record Key(Long businessId, String idempotencyKey) {}
+
+    private record Stored(String requestHash, OrderResponse response) {}
+}
@@ -0,0 +1,106 @@
+package com.pizzeria.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ciclo de vida de un pedido: qué cambios de estado y de pago se permiten y
+ * qué se hace en cada uno.
+ *
+ * Las transiciones se precalculan en tablas EnumMap -> EnumSet (un bitset por
+ * estado de origen): validar es una búsqueda por ordinal, sin crear objetos.
+ *
+ * Estados:
+ * - PENDING / PREPARING / READY: se mueven libremente entre sí (el tablero
+ *   permite arrastrar hacia atrás para corregir) y a DELIVERED o CANCELLED
+ * - DELIVERED / CANCELLED: finales
+ * - Pago: PENDING <-> PAID, también en pedidos finales (se cobra después o se anula el cobro)
+ *
+ * Al aplicar un cambio: statusChangedAt / paidAt quedan con la hora del cambio
+ * y se publica OrderStatusChangedEvent (métricas, después del commit).
+ * Los UPDATE masivos de OrderRepository validan con canMove y marcan las
+ * mismas horas en el propio UPDATE.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderLifecycle {
+
+    private static final Map<OrderStatus, EnumSet<OrderStatus>> ORDER_TRANSITIONS = new EnumMap<>(OrderStatus.class);
+    private static final Map<PaymentStatus, EnumSet<PaymentStatus>> PAYMENT_TRANSITIONS = new EnumMap<>(PaymentStatus.class);
+
+    static {
+        EnumSet<OrderStatus> active = EnumSet.of(OrderStatus.PENDING, OrderStatus.PREPARING, OrderStatus.READY);
+        for (OrderStatus from : active) {
+            EnumSet<OrderStatus> targets = EnumSet.allOf(OrderStatus.class);
+            targets.remove(from);
+            ORDER_TRANSITIONS.put(from, targets);
+        }
+        ORDER_TRANSITIONS.put(OrderStatus.DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        ORDER_TRANSITIONS.put(OrderStatus.CANCELLED, EnumSet.noneOf(OrderStatus.class));
+
+        PAYMENT_TRANSITIONS.put(PaymentStatus.PENDING, EnumSet.of(PaymentStatus.PAID));
+        PAYMENT_TRANSITIONS.put(PaymentStatus.PAID, EnumSet.of(PaymentStatus.PENDING));
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * true si el pedido puede pasar de from a to (quedarse igual siempre se puede)
+     */
+    public static boolean canMove(OrderStatus from, OrderStatus to) {
+        return from == to || ORDER_TRANSITIONS.get(from).contains(to);
+    }
+
+    public static boolean canMove(PaymentStatus from, PaymentStatus to) {
+        return from == to || PAYMENT_TRANSITIONS.get(from).contains(to);
+    }
+
+    /**
+     * Valida y aplica un cambio de estado y/o de pago. Si alguno no está
+     * permitido no se modifica nada.
+     *
+     * @param order Pedido (entidad administrada)
+     * @param orderStatus Estado destino (null = sin cambio)
+     * @param paymentStatus Estado de pago destino (null = sin cambio)
+     * @param now Hora del cambio
+     * @return true si el pedido cambió
+     * @throws IllegalArgumentException si la transición no está permitida
+     */
+    public boolean apply(Order order, OrderStatus orderStatus, PaymentStatus paymentStatus, LocalDateTime now) {
+        OrderStatus fromStatus = order.getOrderStatus();
+        PaymentStatus fromPayment = order.getPaymentStatus();
+        boolean statusChanges = orderStatus != null && orderStatus != fromStatus;
+        boolean paymentChanges = paymentStatus != null && paymentStatus != fromPayment;
+
+        if (statusChanges && !canMove(fromStatus, orderStatus)) {
+            throw new IllegalArgumentException("El pedido " + order.getId() + " no puede pasar de "
+                    + fromStatus + " a " + orderStatus);
+        }
+        if (paymentChanges && !canMove(fromPayment, paymentStatus)) {
+            throw new IllegalArgumentException("El pago del pedido " + order.getId() + " no puede pasar de "
+                    + fromPayment + " a " + paymentStatus);
+        }
+
+        if (statusChanges) {
+            order.setOrderStatus(orderStatus);
+            order.setStatusChangedAt(now);
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getBusinessId(), fromStatus.name(), orderStatus, 1));
+        }
+        if (paymentChanges) {
+            order.setPaymentStatus(paymentStatus);
+            order.setPaidAt(paymentStatus == PaymentStatus.PAID ? now : null);
+        }
+        return statusChanges || paymentChanges;
+    }
+}
@@ -2,31 +2,48 @@ package com.pizzeria.backend.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.pizzeria.backend.dto.common.CursorPage;
+import com.pizzeria.backend.dto.common.KeysetCursor;
+import com.pizzeria.backend.dto.order.BulkOrderStatusRequest;
+import com.pizzeria.backend.dto.order.BulkOrderStatusResponse;
 import com.pizzeria.backend.dto.order.CreateOrderRequest;
+import com.pizzeria.backend.dto.order.OrderEvent;
+import com.pizzeria.backend.dto.order.OrderHistoryFilter;
 import com.pizzeria.backend.dto.order.OrderResponse;
 import com.pizzeria.backend.dto.order.UpdateOrderStatusRequest;
 import com.pizzeria.backend.mapper.OrderMapper;
 import com.pizzeria.backend.model.Address;
-import com.pizzeria.backend.model.Combo;
+import com.pizzeria.backend.model.CashShift;
+import com.pizzeria.backend.model.CashShiftTotals;
 import com.pizzeria.backend.model.Customer;
 import com.pizzeria.backend.model.Order;
-import com.pizzeria.backend.model.OrderItem;
-import com.pizzeria.backend.model.Product;
 import com.pizzeria.backend.model.enums.DeliveryMethod;
 import com.pizzeria.backend.model.enums.OrderStatus;
 import com.pizzeria.backend.model.enums.PaymentStatus;
 import com.pizzeria.backend.repository.AddressRepository;
-import com.pizzeria.backend.repository.CashShiftRepository;
-import com.pizzeria.backend.repository.ComboRepository;
 import com.pizzeria.backend.repository.CustomerRepository;
 import com.pizzeria.backend.repository.OrderRepository;
-import com.pizzeria.backend.repository.ProductRepository;
+import com.pizzeria.backend.repository.OrderSpecifications;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -35,14 +52,17 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class OrderService {
 
+    public static final int MAX_HISTORY_PAGE_SIZE = 200;
+    private static final Sort HISTORY_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final OrderRepository orderRepository;
-    private final ProductRepository productRepository;
-    private final ComboRepository comboRepository;
+    private final OrderCatalogResolver orderCatalogResolver;
     private final CustomerRepository customerRepository;
     private final AddressRepository addressRepository;
     private final CashShiftService cashShiftService;
-    private final CashShiftRepository cashShiftRepository;
     private final OrderMapper orderMapper;
+    private final OrderLifecycle orderLifecycle;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public OrderResponse createOrder(Long businessId, CreateOrderRequest request) {
@@ -53,9 +73,11 @@ public class OrderService {
                                    : PaymentStatus.PENDING;
         
         // 0. VALIDAR QUE HAYA CAJA ABIERTA (CRITICO)
-        var cashShift = cashShiftService.getOpenCashShift(businessId);
+        // Sale del registro en memoria; el paso 4 confirma que siga abierta
+        var cashShift = cashShiftService.getOpenCashShiftReference(businessId);
         
         // 1. Inicializar Pedido
+        LocalDateTime now = LocalDateTime.now();
         Order order = Order.builder()
                 .businessId(businessId)
                 .cashShift(cashShift)
@@ -63,7 +85,9 @@ public class OrderService {
                 .paymentStatus(statusPago)
                 .paymentMethod(request.paymentMethod())
                 .deliveryMethod(request.deliveryMethod())
-                .createdAt(LocalDateTime.now())
+                .createdAt(now)
+                .statusChangedAt(now)
+                .paidAt(statusPago == PaymentStatus.PAID ? now : null)
                 .items(new ArrayList<>())
                 .build();
 
@@ -96,61 +120,24 @@ public class OrderService {
         }
 
         // 3. Procesar Items y Calcular Total
-        BigDecimal totalAmount = BigDecimal.ZERO;
-
-        for (var itemReq : request.items()) {
-            // Validación XOR (Producto O Combo)
-            if (!itemReq.isValid()) {
-                throw new IllegalArgumentException("Cada ítem debe ser un Producto O un Combo (no ambos, no ninguno)");
-            }
-
-            OrderItem item = new OrderItem();
-            item.setOrder(order);
-            item.setQuantity(itemReq.quantity());
+        // Productos y combos se resuelven en lote (una query por tipo) y se cotizan en memoria
+        OrderCatalog catalog = orderCatalogResolver.resolve(businessId, request.items());
+        BigDecimal totalAmount = catalog.addItemsTo(order, request.items());
 
-            BigDecimal currentPrice;
-
-            if (itemReq.productId() != null) {
-                // Es un Producto
-                Product p = productRepository.findByIdAndBusinessId(itemReq.productId(), businessId)
-                        .orElseThrow(() -> new EntityNotFoundException("Producto ID " + itemReq.productId() + " no encontrado"));
-                
-                item.setProduct(p);
-                currentPrice = p.getPrice(); // Tomamos el precio ACTUAL
-            } else {
-                // Es un Combo
-                Combo c = comboRepository.findByIdAndBusinessId(itemReq.comboId(), businessId)
-                        .orElseThrow(() -> new EntityNotFoundException("Combo ID " + itemReq.comboId() + " no encontrado"));
-                
-                item.setCombo(c);
-                currentPrice = c.getPrice(); // Tomamos el precio ACTUAL
-            }
-
-            // 4. CONGELAR PRECIOS
-            item.setUnitPrice(currentPrice);
-            
-            // Calcular Subtotal
-            BigDecimal subtotal = currentPrice.multiply(BigDecimal.valueOf(itemReq.quantity()));
-            item.setSubtotal(subtotal);
-
-            // Sumar al total general
-            totalAmount = totalAmount.add(subtotal);
-
-            // Agregar a la lista del pedido
-            order.getItems().add(item);
-        }
-
-        // 5. Finalizar y Guardar
+        // 4. Finalizar y Guardar
         order.setTotal(totalAmount);
+        order.setCashShift(cashShiftService.addNewOrder(businessId, cashShift, CashShiftTotals.of(order)));
         Order savedOrder = orderRepository.save(order);
 
-        return orderMapper.toResponse(savedOrder);
+        OrderResponse response = orderMapper.toResponse(savedOrder);
+        publish(businessId, OrderEvent.Type.CREATED, response);
+        return response;
     }
 
     @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders(Long businessId) {
         // Obtener la caja abierta sin lanzar excepciones dentro de la transacción
-        var cashShift = cashShiftRepository.findOpenCashShift(businessId);
+        var cashShift = cashShiftService.findOpenCashShiftReference(businessId);
         
         if (cashShift.isPresent()) {
             // Si hay caja abierta, retornar los pedidos de esa caja
@@ -164,42 +151,215 @@ public class OrderService {
     }
 
     /**
-     * Obtiene todos los pedidos de un negocio (sin filtro de caja)
-     * Útil para reportes históricos
+     * Historial de pedidos de un negocio (sin filtro de caja), paginado por keyset
+     *
+     * Ordena por (createdAt DESC, id DESC) y continúa desde el cursor recibido,
+     * por lo que el costo de cada página no depende del tamaño del historial.
+     *
+     * @param businessId ID del negocio
+     * @param filter Filtros opcionales (estado, pago, entrega, cliente, fechas)
+     * @param cursor Cursor devuelto por la página anterior (null = primera página)
+     * @param size Tamaño de página (se acota a MAX_HISTORY_PAGE_SIZE)
+     * @return Página de pedidos y cursor para la siguiente
      */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getAllOrdersHistoric(Long businessId) {
-        return orderRepository.findByBusinessIdOrderByCreatedAtDesc(businessId).stream()
-                .map(orderMapper::toResponse)
+    public CursorPage<OrderResponse> getOrderHistory(Long businessId, OrderHistoryFilter filter,
+            String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_HISTORY_PAGE_SIZE);
+
+        Specification<Order> spec = OrderSpecifications.belongsTo(businessId)
+                .and(OrderSpecifications.matches(filter));
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            spec = spec.and(OrderSpecifications.before(parseCursorDate(position.sortKey()), position.id()));
+        }
+
+        // Pedimos un elemento extra para saber si hay página siguiente
+        List<Order> orders = orderRepository.findBy(spec, query -> query
+                .sortBy(HISTORY_SORT)
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasMore = orders.size() > pageSize;
+        List<Order> page = hasMore ? orders.subList(0, pageSize) : orders;
+        if (page.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Order last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt().toString(), last.getId()).encode();
+        }
+
+        // Segunda fase: cargar el detalle de la página en una sola query (sin N+1)
+        Map<Long, Order> detailed = orderRepository.findWithDetailsByIdIn(page.stream().map(Order::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        List<OrderResponse> items = page.stream()
+                .map(order -> orderMapper.toResponse(detailed.get(order.getId())))
                 .toList();
+
+        return new CursorPage<>(items, nextCursor);
     }
 
+    private static LocalDateTime parseCursorDate(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido", ex);
+        }
+    }
+
+    /**
+     * Cambia el estado de un pedido (solo por transiciones de OrderLifecycle)
+     *
+     * Sin lock de lectura: si otro terminal lo modificó entre la lectura y el UPDATE
+     * (WHERE version = ?), falla con OptimisticLockingFailureException (409).
+     * Si el cambio mueve los totales, la caja se actualiza antes que el pedido.
+     *
+     * @param expectedVersion Versión que vio el cliente (If-Match), null = no verificar
+     * @throws OptimisticLockingFailureException si el pedido ya no está en esa versión
+     * @throws IllegalArgumentException si la transición no está permitida (ej: DELIVERED -> PENDING)
+     *         o si mueve los totales de una caja cerrada
+     */
     @Transactional
-    public OrderResponse updateOrderStatus(Long businessId, Long orderId, UpdateOrderStatusRequest request) {
+    public OrderResponse updateOrderStatus(Long businessId, Long orderId, UpdateOrderStatusRequest request,
+            Long expectedVersion) {
         Order order = orderRepository.findByIdAndBusinessId(orderId, businessId)
                 .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Pedido no encontrado"));
+        checkVersion(order, expectedVersion);
         
-        order.setOrderStatus(request.orderStatus());
-        // Si vienen cambios en paymentStatus, aplicarlos también
-        if (request.paymentStatus() != null) {
-            order.setPaymentStatus(request.paymentStatus());
+        // Aporte a los totales de la caja antes del cambio
+        CashShiftTotals before = CashShiftTotals.of(order);
+
+        // Si vienen cambios en paymentStatus, se aplican también
+        orderLifecycle.apply(order, request.orderStatus(), request.paymentStatus(), LocalDateTime.now());
+
+        // Primero la caja y después el pedido (el mismo orden de locks que el cierre de caja)
+        cashShiftService.applyOrderChange(order.getCashShift(), before, CashShiftTotals.of(order));
+        orderRepository.saveAndFlush(order);
+
+        OrderResponse response = orderMapper.toResponse(order);
+        publish(businessId, OrderEvent.Type.UPDATED, response);
+        return response;
+    }
+
+    /**
+     * Cambia de estado (y/o de estado de pago) varios pedidos a la vez
+     *
+     * Se bloquean primero las cajas involucradas y después las filas del lote
+     * (SELECT ... FOR UPDATE), que se actualizan con un único UPDATE; los
+     * totales de caja se ajustan con un UPDATE por caja. Si algún pedido no
+     * puede pasar al estado pedido (OrderLifecycle.canMove) o mueve los totales
+     * de una caja cerrada, no se cambia ninguno.
+     *
+     * @param businessId ID del negocio
+     * @param request IDs y estado destino
+     * @return Pedidos que cambiaron, con su nueva versión
+     * @throws EntityNotFoundException si algún pedido no existe en el negocio
+     * @throws IllegalArgumentException si no hay destino, algún cambio no está permitido
+     *         o mueve los totales de una caja cerrada
+     */
+    @Transactional
+    public BulkOrderStatusResponse updateOrderStatuses(Long businessId, BulkOrderStatusRequest request) {
+        if (request.orderStatus() == null && request.paymentStatus() == null) {
+            throw new IllegalArgumentException("Indicar orderStatus y/o paymentStatus");
+        }
+        Set<Long> ids = new LinkedHashSet<>(request.orderIds());
+        // Primero las cajas del lote (por ID) y después los pedidos: el mismo orden que el cierre de caja
+        cashShiftService.lockForOrderChanges(orderRepository.findCashShiftIdsByIdIn(businessId, ids));
+        List<Order> orders = orderRepository.findAllForUpdate(businessId, ids);
+        if (orders.size() != ids.size()) {
+            orders.forEach(order -> ids.remove(order.getId()));
+            throw new EntityNotFoundException("Pedidos no encontrados: " + ids);
         }
 
-        orderRepository.save(order);
+        // Los que ya están en el estado pedido no se tocan (ni cambian de versión)
+        List<Order> changing = orders.stream()
+                .filter(order -> (request.orderStatus() != null && order.getOrderStatus() != request.orderStatus())
+                        || (request.paymentStatus() != null && order.getPaymentStatus() != request.paymentStatus()))
+                .toList();
+        if (changing.isEmpty()) {
+            return new BulkOrderStatusResponse(List.of());
+        }
+        List<Long> rejected = changing.stream()
+                .filter(order -> (request.orderStatus() != null
+                                && !OrderLifecycle.canMove(order.getOrderStatus(), request.orderStatus()))
+                        || (request.paymentStatus() != null
+                                && !OrderLifecycle.canMove(order.getPaymentStatus(), request.paymentStatus())))
+                .map(Order::getId)
+                .toList();
+        if (!rejected.isEmpty()) {
+            throw new IllegalArgumentException("Transición no permitida para los pedidos: " + rejected);
+        }
 
-        return orderMapper.toResponse(order);
+        // Aporte a los totales antes y después, acumulado por caja; transiciones por estado de origen
+        Map<Long, ShiftChange> shiftChanges = new HashMap<>();
+        Map<OrderStatus, Long> transitions = new EnumMap<>(OrderStatus.class);
+        for (Order order : changing) {
+            // Copia sin estado JPA: modificar la entidad generaría un UPDATE por pedido al hacer flush
+            Order after = Order.builder()
+                    .orderStatus(request.orderStatus() != null ? request.orderStatus() : order.getOrderStatus())
+                    .paymentStatus(request.paymentStatus() != null ? request.paymentStatus() : order.getPaymentStatus())
+                    .paymentMethod(order.getPaymentMethod())
+                    .deliveryMethod(order.getDeliveryMethod())
+                    .total(order.getTotal())
+                    .build();
+            shiftChanges.merge(order.getCashShift().getId(),
+                    new ShiftChange(order.getCashShift(), CashShiftTotals.of(order), CashShiftTotals.of(after)),
+                    ShiftChange::plus);
+            if (order.getOrderStatus() != after.getOrderStatus()) {
+                transitions.merge(order.getOrderStatus(), 1L, Long::sum);
+            }
+        }
+
+        // Las cajas ya están bloqueadas: una cerrada rechaza el lote antes de escribir los pedidos
+        shiftChanges.values().forEach(change ->
+                cashShiftService.applyOrderChange(change.cashShift(), change.before(), change.after()));
+        List<Long> changedIds = changing.stream().map(Order::getId).toList();
+        orderRepository.updateStatusByIdIn(businessId, changedIds, request.orderStatus(), request.paymentStatus(),
+                LocalDateTime.now());
+        transitions.forEach((from, count) -> eventPublisher.publishEvent(
+                new OrderStatusChangedEvent(businessId, from.name(), request.orderStatus(), count)));
+
+        // Estado final de los pedidos (una query) para el tablero en vivo y las nuevas versiones
+        List<Order> updated = new ArrayList<>(orderRepository.findWithDetailsByIdIn(changedIds));
+        updated.sort(Comparator.comparing(Order::getId));
+        updated.forEach(order -> publish(businessId, OrderEvent.Type.UPDATED, orderMapper.toResponse(order)));
+        return new BulkOrderStatusResponse(updated.stream()
+                .map(order -> new BulkOrderStatusResponse.OrderVersion(order.getId(), order.getVersion()))
+                .toList());
     }
 
+    // Cambio de totales acumulado de los pedidos de una misma caja
+    private record ShiftChange(CashShift cashShift, CashShiftTotals before, CashShiftTotals after) {
+        ShiftChange plus(ShiftChange other) {
+            return new ShiftChange(cashShift, before.plus(other.before), after.plus(other.after));
+        }
+    }
+
+    /**
+     * Cambia pago / entrega de un pedido, con el mismo control de versión que updateOrderStatus
+     *
+     * @param expectedVersion Versión que vio el cliente (If-Match), null = no verificar
+     * @throws OptimisticLockingFailureException si el pedido ya no está en esa versión
+     * @throws IllegalArgumentException si el cambio de pago no está permitido o si mueve
+     *         los totales de una caja cerrada
+     */
     @Transactional
     public OrderResponse updateOrderDetails(Long businessId, Long orderId, 
-            com.pizzeria.backend.dto.order.UpdateOrderDetailsRequest request) {
+            com.pizzeria.backend.dto.order.UpdateOrderDetailsRequest request, Long expectedVersion) {
         Order order = orderRepository.findByIdAndBusinessId(orderId, businessId)
                 .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Pedido no encontrado"));
+        checkVersion(order, expectedVersion);
         
+        // Aporte a los totales de la caja antes del cambio
+        CashShiftTotals before = CashShiftTotals.of(order);
+
         // Actualizar solo los campos que vengan
-        if (request.paymentStatus() != null) {
-            order.setPaymentStatus(request.paymentStatus());
-        }
+        orderLifecycle.apply(order, null, request.paymentStatus(), LocalDateTime.now());
         if (request.paymentMethod() != null) {
             order.setPaymentMethod(request.paymentMethod());
         }
@@ -207,8 +367,22 @@ public class OrderService {
             order.setDeliveryMethod(request.deliveryMethod());
         }
 
-        orderRepository.save(order);
+        cashShiftService.applyOrderChange(order.getCashShift(), before, CashShiftTotals.of(order));
+        orderRepository.saveAndFlush(order);
+
+        OrderResponse response = orderMapper.toResponse(order);
+        publish(businessId, OrderEvent.Type.UPDATED, response);
+        return response;
+    }
+
+    private static void checkVersion(Order order, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Order.class, order.getId());
+        }
+    }
 
-        return orderMapper.toResponse(order);
+    // Aviso al tablero en vivo; OrderEventStream lo envía recién después del commit
+    private void publish(Long businessId, OrderEvent.Type type, OrderResponse response) {
+        eventPublisher.publishEvent(new OrderChangedEvent(businessId, new OrderEvent(type, response)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.pizzeria.backend.service;
+
+import com.pizzeria.backend.model.enums.OrderStatus;
+
+/**
+ * Evento interno que publican OrderLifecycle (cambio de estado de un pedido),
+ * OrderService (cambio masivo, uno por estado de origen) y CashShiftService
+ * (cierre de caja: todos sus pedidos pasan a DELIVERED).
+ * BusinessMetrics lo cuenta recién después del commit.
+ *
+ * @param businessId Negocio de los pedidos
+ * @param from Estado anterior, o CASH_SHIFT_CLOSE en el cambio masivo del cierre
+ * @param to Estado nuevo
+ * @param count Cantidad de pedidos que cambiaron
+ */
+public record OrderStatusChangedEvent(
+    Long businessId,
+    String from,
+    OrderStatus to,
+    long count
+) {
+    public static final String CASH_SHIFT_CLOSE = "CASH_SHIFT_CLOSE";
+}
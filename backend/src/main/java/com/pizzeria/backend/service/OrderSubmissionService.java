@@ -0,0 +1,95 @@
+package com.pizzeria.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pizzeria.backend.dto.order.CreateOrderRequest;
+import com.pizzeria.backend.dto.order.OrderResponse;
+import com.pizzeria.backend.model.OrderIdempotencyKey;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Alta de pedidos con Idempotency-Key (POST /api/orders)
+ *
+ * Un reintento con la misma clave devuelve el pedido ya creado sin volver a
+ * cotizar ni insertar. Sin clave, es el alta normal de OrderService.
+ *
+ * La clave se guarda en la misma transacción que el pedido (TransactionTemplate:
+ * OrderService.createOrder se une a ella). Si dos reintentos llegan a la vez,
+ * el segundo choca con la restricción única, hace rollback completo (pedido y
+ * totales de caja incluidos) y responde con el pedido del primero.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderSubmissionService {
+
+    private final OrderService orderService;
+    private final OrderIdempotencyStore idempotencyStore;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * @param order Pedido creado (o el ya creado con esta clave)
+     * @param replayed true si la clave ya se había usado y no se creó nada
+     */
+    public record Submission(OrderResponse order, boolean replayed) {}
+
+    /**
+     * Crea un pedido, o devuelve el ya creado con la misma clave
+     *
+     * @param businessId ID del negocio
+     * @param request Pedido a crear
+     * @param idempotencyKey Header Idempotency-Key (null = sin deduplicación)
+     * @return Pedido y si fue una repetición
+     * @throws IllegalArgumentException si la clave es inválida o ya se usó con otro pedido
+     */
+    public Submission submit(Long businessId, CreateOrderRequest request, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return new Submission(orderService.createOrder(businessId, request), false);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > OrderIdempotencyKey.MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key debe tener entre 1 y "
+                    + OrderIdempotencyKey.MAX_KEY_LENGTH + " caracteres");
+        }
+        String requestHash = requestHash(request);
+
+        Optional<OrderResponse> stored = idempotencyStore.find(businessId, idempotencyKey, requestHash);
+        if (stored.isPresent()) {
+            return new Submission(stored.get(), true);
+        }
+
+        OrderResponse created;
+        try {
+            created = transactionTemplate.execute(status -> {
+                OrderResponse response = orderService.createOrder(businessId, request);
+                idempotencyStore.record(businessId, idempotencyKey, requestHash, response.id());
+                return response;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Otro request con la misma clave ganó la carrera (y ya hizo commit)
+            return idempotencyStore.find(businessId, idempotencyKey, requestHash)
+                    .map(order -> new Submission(order, true))
+                    .orElseThrow(() -> e);
+        }
+        idempotencyStore.remember(businessId, idempotencyKey, requestHash, created);
+        return new Submission(created, false);
+    }
+
+    // Los DTOs son records: toString() es determinístico e incluye todos los campos
+    static String requestHash(CreateOrderRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(request.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
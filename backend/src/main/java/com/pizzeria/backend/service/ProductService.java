@@ -2,6 +2,7 @@ package com.pizzeria.backend.service;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +21,7 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     // --- CREAR ---
     @Transactional // Asegura que se guarde todo o nada
@@ -32,12 +34,14 @@ public class ProductService {
         
         // 3. Guardar en BD
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new MenuChangedEvent(businessId));
         
         // 4. Devolver DTO
         return productMapper.toResponse(savedProduct);
     }
 
     // --- LEER TODOS (Activos) (De mi negocio) ---
+    // Los controllers leen a través de MenuCache; esto solo corre si no hay snapshot
     @Transactional(readOnly = true) // Optimiza el rendimiento para lectura
     public List<ProductResponse> getAllProducts(Long businessId) {
             // Usamos el método que filtra por active = true
@@ -60,6 +64,7 @@ public class ProductService {
 
         // 3. Guardar cambios
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new MenuChangedEvent(businessId));
 
         return productMapper.toResponse(updatedProduct);
     }
@@ -73,5 +78,6 @@ public class ProductService {
         // Esto mantiene la integridad de los pedidos viejos que tengan este producto.
         product.setActive(false);
         productRepository.save(product);
+        eventPublisher.publishEvent(new MenuChangedEvent(businessId));
     }
 }
@@ -0,0 +1,60 @@
+package com.pizzeria.backend.service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.pizzeria.backend.dto.expense.ExpenseItemRequest;
+import com.pizzeria.backend.model.Supply;
+import com.pizzeria.backend.repository.SupplyRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resuelve en lote los insumos referenciados por un gasto.
+ *
+ * Junta todos los supplyId del request y los busca con UNA sola query
+ * filtrada por businessId (multi-tenant), en lugar de una query por línea.
+ * Si falta alguno, informa todos los IDs faltantes juntos.
+ */
+@Component
+@RequiredArgsConstructor
+public class SupplyResolver {
+
+    private final SupplyRepository supplyRepository;
+
+    /**
+     * @param businessId ID del negocio
+     * @param items Líneas del gasto
+     * @return Insumos indexados por ID (uno por cada supplyId del request)
+     * @throws EntityNotFoundException si algún insumo no existe o no pertenece al negocio
+     */
+    public Map<Long, Supply> resolve(Long businessId, List<ExpenseItemRequest> items) {
+        // LinkedHashSet: los faltantes se informan en el orden del request
+        Set<Long> supplyIds = items.stream()
+                .map(ExpenseItemRequest::supplyId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (supplyIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Supply> supplies = supplyRepository.findByIdInAndBusinessId(supplyIds, businessId).stream()
+                .collect(Collectors.toMap(Supply::getId, Function.identity()));
+
+        List<Long> missing = supplyIds.stream()
+                .filter(id -> !supplies.containsKey(id))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException(missing.size() == 1
+                    ? "Insumo con ID " + missing.get(0) + " no encontrado"
+                    : "Insumos con ID " + missing + " no encontrados");
+        }
+        return supplies;
+    }
+}
@@ -0,0 +1,191 @@
+-- Esquema inicial: exactamente lo que generaba ddl-auto sobre las entidades
+-- antes de Flyway (IDs IDENTITY, sin secuencias ni índices propios).
+--
+-- Las bases que ya existían antes de Flyway no corren este script: se marcan
+-- como versión 1 (spring.flyway.baseline-on-migrate) y siguen desde V2. Por eso
+-- V1 no puede tener nada que esas bases no tengan: todo cambio de esquema va en
+-- una migración nueva. Los nombres de las FK son los mismos que generaba Hibernate.
+
+-- ==================== Negocios y usuarios ====================
+
+CREATE TABLE businesses (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE app_users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE user_business_roles (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id     BIGINT       NOT NULL,
+    business_id BIGINT       NOT NULL,
+    role        VARCHAR(255) NOT NULL CHECK (role IN ('OWNER', 'EMPLOYEE')),
+    PRIMARY KEY (id)
+);
+
+-- ==================== Carta ====================
+
+CREATE TABLE products (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    business_id BIGINT         NOT NULL,
+    title       VARCHAR(255),
+    description TEXT,
+    category    VARCHAR(255),
+    price       NUMERIC(10, 2) NOT NULL,
+    active      BOOLEAN        NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE combos (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    business_id BIGINT         NOT NULL,
+    name        VARCHAR(255),
+    price       NUMERIC(10, 2) NOT NULL,
+    active      BOOLEAN        NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE combo_items (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    combo_id   BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity   INTEGER,
+    PRIMARY KEY (id)
+);
+
+-- ==================== Clientes ====================
+
+CREATE TABLE customers (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    business_id BIGINT NOT NULL,
+    name        VARCHAR(255),
+    phone       VARCHAR(255),
+    active      BOOLEAN,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE addresses (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    customer_id BIGINT NOT NULL,
+    street      VARCHAR(255),
+    number      VARCHAR(255),
+    description VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+-- ==================== Caja y pedidos ====================
+
+CREATE TABLE cash_shifts (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    business_id  BIGINT         NOT NULL,
+    status       VARCHAR(255)   NOT NULL CHECK (status IN ('OPEN', 'CLOSED')),
+    start_date   TIMESTAMP(6)   NOT NULL,
+    end_date     TIMESTAMP(6),
+    start_amount NUMERIC(10, 2) NOT NULL,
+    end_amount   NUMERIC(10, 2),
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE orders (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    business_id     BIGINT         NOT NULL,
+    customer_id     BIGINT,
+    cash_shift_id   BIGINT         NOT NULL,
+    address_id      BIGINT,
+    manual_address  VARCHAR(500),
+    order_status    VARCHAR(255)   NOT NULL CHECK (order_status IN ('PENDING', 'PREPARING', 'READY', 'DELIVERED', 'CANCELLED')),
+    payment_status  VARCHAR(255)   NOT NULL CHECK (payment_status IN ('PENDING', 'PAID')),
+    payment_method  VARCHAR(255)            CHECK (payment_method IN ('CASH', 'TRANSFER', 'CARD')),
+    delivery_method VARCHAR(255)   NOT NULL CHECK (delivery_method IN ('PICKUP', 'DELIVERY', 'DINE_IN')),
+    total           NUMERIC(10, 2),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE order_items (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    order_id   BIGINT         NOT NULL,
+    product_id BIGINT,
+    combo_id   BIGINT,
+    quantity   INTEGER,
+    unit_price NUMERIC(10, 2) NOT NULL,
+    subtotal   NUMERIC(10, 2) NOT NULL,
+    name       VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+-- ==================== Gastos ====================
+
+CREATE TABLE suppliers (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    business_id  BIGINT       NOT NULL,
+    name         VARCHAR(255) NOT NULL,
+    contact_info TEXT,
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE supplies (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    business_id BIGINT       NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    category    VARCHAR(255) NOT NULL CHECK (category IN ('STOCK', 'SERVICE', 'FIXED_COST')),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE expenses (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    business_id BIGINT         NOT NULL,
+    supplier_id BIGINT,
+    date        DATE           NOT NULL,
+    total       NUMERIC(10, 2) NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE expense_items (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    expense_id BIGINT         NOT NULL,
+    supply_id  BIGINT         NOT NULL,
+    quantity   INTEGER        NOT NULL,
+    unit_price NUMERIC(10, 2) NOT NULL,
+    subtotal   NUMERIC(10, 2) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- ==================== Foreign keys ====================
+
+ALTER TABLE user_business_roles ADD CONSTRAINT FKaf7unllr42bsib4e9r2jwdwwf FOREIGN KEY (user_id) REFERENCES app_users;
+ALTER TABLE combo_items ADD CONSTRAINT FK48h944x1aynyjkgfxa1tu5n32 FOREIGN KEY (combo_id) REFERENCES combos;
+ALTER TABLE combo_items ADD CONSTRAINT FKp7wjg7ht16w8bfu0623pcwqp0 FOREIGN KEY (product_id) REFERENCES products;
+ALTER TABLE addresses ADD CONSTRAINT FKhrpf5e8dwasvdc5cticysrt2k FOREIGN KEY (customer_id) REFERENCES customers;
+ALTER TABLE orders ADD CONSTRAINT FKpxtb8awmi0dk6smoh2vp1litg FOREIGN KEY (customer_id) REFERENCES customers;
+ALTER TABLE orders ADD CONSTRAINT FKmxdhd267n8x4giteeohsl7ww8 FOREIGN KEY (cash_shift_id) REFERENCES cash_shifts;
+ALTER TABLE orders ADD CONSTRAINT FKhlglkvf5i60dv6dn397ethgpt FOREIGN KEY (address_id) REFERENCES addresses;
+ALTER TABLE order_items ADD CONSTRAINT FKbioxgbv59vetrxe0ejfubep1w FOREIGN KEY (order_id) REFERENCES orders;
+ALTER TABLE order_items ADD CONSTRAINT FKocimc7dtr037rh4ls4l95nlfi FOREIGN KEY (product_id) REFERENCES products;
+ALTER TABLE order_items ADD CONSTRAINT FK406a8m2k9pylvb0rynoxx4o43 FOREIGN KEY (combo_id) REFERENCES combos;
+ALTER TABLE expenses ADD CONSTRAINT FKfjoad4r8hmgwy9yu8aigjj0r8 FOREIGN KEY (supplier_id) REFERENCES suppliers;
+ALTER TABLE expense_items ADD CONSTRAINT FK48hitjm52l1x76gjdywnb3hg9 FOREIGN KEY (expense_id) REFERENCES expenses;
+ALTER TABLE expense_items ADD CONSTRAINT FKawfgrh4k82yt4dig0dph8r22q FOREIGN KEY (supply_id) REFERENCES supplies;
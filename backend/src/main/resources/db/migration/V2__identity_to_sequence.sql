@@ -0,0 +1,31 @@
+-- Migración de IDs IDENTITY -> secuencias pooled-lo.
+--
+-- Corre igual en las bases creadas por ddl-auto antes de Flyway y en las
+-- creadas por V1: las dos tienen columnas id IDENTITY y ninguna secuencia.
+--
+-- Por cada tabla:
+--   1. Quita el IDENTITY de la columna id (Hibernate ahora manda el id en el INSERT)
+--   2. Crea <tabla>_seq con INCREMENT BY 50 (igual al allocationSize por defecto)
+--   3. Arranca la secuencia en MAX(id) + 1 para no pisar IDs existentes
+-- Es idempotente: volver a correrlo solo reacomoda las secuencias.
+
+DO $$
+DECLARE
+    t text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'businesses', 'app_users', 'user_business_roles',
+        'products', 'combos', 'combo_items',
+        'customers', 'addresses',
+        'cash_shifts', 'orders', 'order_items',
+        'suppliers', 'supplies', 'expenses', 'expense_items'
+    ]
+    LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', t);
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t || '_seq');
+        -- Si ddl-auto ya la había creado, se asegura el incremento
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', t || '_seq');
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 1, false)', t || '_seq', t);
+    END LOOP;
+END $$;
@@ -0,0 +1,58 @@
+-- Índices para las consultas de los repositorios (todas filtran por business_id).
+-- IF NOT EXISTS: las bases creadas por ddl-auto pueden tener ya los de @Table.indexes.
+
+-- ==================== Pedidos (OrderRepository / OrderSpecifications) ====================
+
+-- Historial paginado por keyset: WHERE business_id = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_orders_business_created_id ON orders (business_id, created_at DESC, id DESC);
+-- Kanban de la caja abierta (ORDER BY created_at DESC) y cierre masivo (UPDATE ... WHERE cash_shift_id = ?)
+CREATE INDEX IF NOT EXISTS idx_orders_cash_shift_created ON orders (cash_shift_id, created_at DESC);
+-- Filtro por cliente del historial
+CREATE INDEX IF NOT EXISTS idx_orders_customer ON orders (customer_id);
+-- Ítems de los pedidos (fetch de detalle por order_id IN (...))
+CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items (order_id);
+
+-- ==================== Caja (CashShiftRepository) ====================
+
+-- Una sola caja OPEN por negocio. También resuelve findOpenCashShift / hasCashShiftOpen.
+-- Si falla en una base existente: SELECT business_id FROM cash_shifts WHERE status = 'OPEN'
+-- GROUP BY business_id HAVING COUNT(*) > 1, y cerrar las cajas sobrantes a mano.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_cash_shifts_open_business ON cash_shifts (business_id) WHERE status = 'OPEN';
+-- Historial de cajas: WHERE business_id = ? ORDER BY start_date DESC
+CREATE INDEX IF NOT EXISTS idx_cash_shifts_business_start ON cash_shifts (business_id, start_date DESC);
+
+-- ==================== Gastos (ExpenseRepository) ====================
+
+-- Listado paginado y rango de fechas: WHERE business_id = ? [AND date BETWEEN ? AND ?]
+CREATE INDEX IF NOT EXISTS idx_expenses_business_date_id ON expenses (business_id, date DESC, id DESC);
+-- Gastos por proveedor
+CREATE INDEX IF NOT EXISTS idx_expenses_business_supplier ON expenses (business_id, supplier_id);
+CREATE INDEX IF NOT EXISTS idx_expense_items_expense ON expense_items (expense_id);
+CREATE INDEX IF NOT EXISTS idx_expense_items_supply ON expense_items (supply_id);
+
+-- ==================== Carta y clientes ====================
+
+-- findByBusinessId / findByBusinessIdAndActiveTrue
+CREATE INDEX IF NOT EXISTS idx_products_business_active ON products (business_id, active);
+CREATE INDEX IF NOT EXISTS idx_combos_business_active ON combos (business_id, active);
+CREATE INDEX IF NOT EXISTS idx_customers_business_active ON customers (business_id, active);
+CREATE INDEX IF NOT EXISTS idx_combo_items_combo ON combo_items (combo_id);
+CREATE INDEX IF NOT EXISTS idx_addresses_customer ON addresses (customer_id);
+
+-- ==================== Proveedores e insumos ====================
+
+CREATE INDEX IF NOT EXISTS idx_suppliers_business ON suppliers (business_id);
+-- findByBusinessIdAndCategory (y findByBusinessId por prefijo)
+CREATE INDEX IF NOT EXISTS idx_supplies_business_category ON supplies (business_id, category);
+
+-- Búsquedas ...NameContainingIgnoreCase: Hibernate genera upper(name) LIKE upper('%texto%'),
+-- que un B-tree no puede usar. Un GIN de trigramas sobre upper(name) sí.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_suppliers_name_trgm ON suppliers USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_supplies_name_trgm ON supplies USING gin (upper(name) gin_trgm_ops);
+
+-- ==================== Usuarios ====================
+
+-- Roles del usuario (carga EAGER en cada autenticación) y miembros de un negocio
+CREATE INDEX IF NOT EXISTS idx_user_business_roles_user ON user_business_roles (user_id);
+CREATE INDEX IF NOT EXISTS idx_user_business_roles_business ON user_business_roles (business_id);
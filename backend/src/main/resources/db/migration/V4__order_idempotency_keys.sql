@@ -0,0 +1,18 @@
+-- Claves Idempotency-Key de POST /api/orders (ver OrderIdempotencyKey)
+
+CREATE SEQUENCE IF NOT EXISTS order_idempotency_keys_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_idempotency_keys (
+    id              BIGINT       NOT NULL,
+    business_id     BIGINT       NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    order_id        BIGINT       NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    expires_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uq_order_idempotency_keys_business_key UNIQUE (business_id, idempotency_key),
+    CONSTRAINT fk_order_idempotency_keys_order FOREIGN KEY (order_id) REFERENCES orders
+);
+
+CREATE INDEX idx_order_idempotency_keys_expires_at ON order_idempotency_keys (expires_at);
@@ -0,0 +1,3 @@
+-- Versión optimista de los pedidos (Order.version)
+
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
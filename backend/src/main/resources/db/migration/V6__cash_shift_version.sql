@@ -0,0 +1,3 @@
+-- Versión optimista de las cajas (CashShift.version)
+
+ALTER TABLE cash_shifts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
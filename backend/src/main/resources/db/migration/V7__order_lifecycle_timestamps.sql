@@ -0,0 +1,5 @@
+-- Horas que marca OrderLifecycle: último cambio de estado y cobro.
+-- Los pedidos anteriores quedan en NULL (no se sabe cuándo cambiaron).
+
+ALTER TABLE orders ADD COLUMN status_changed_at TIMESTAMP(6);
+ALTER TABLE orders ADD COLUMN paid_at TIMESTAMP(6);
@@ -0,0 +1,46 @@
+-- Totales en vivo de las cajas (CashShiftTotals, ver CashShiftRepository.addTotals).
+-- IF NOT EXISTS: una base que ddl-auto actualizó antes de Flyway puede tenerlas ya.
+
+ALTER TABLE cash_shifts ADD COLUMN IF NOT EXISTS order_count BIGINT;
+ALTER TABLE cash_shifts ADD COLUMN IF NOT EXISTS gross_total NUMERIC(12, 2);
+ALTER TABLE cash_shifts ADD COLUMN IF NOT EXISTS cash_total NUMERIC(12, 2);
+ALTER TABLE cash_shifts ADD COLUMN IF NOT EXISTS transfer_total NUMERIC(12, 2);
+ALTER TABLE cash_shifts ADD COLUMN IF NOT EXISTS card_total NUMERIC(12, 2);
+ALTER TABLE cash_shifts ADD COLUMN IF NOT EXISTS paid_total NUMERIC(12, 2);
+ALTER TABLE cash_shifts ADD COLUMN IF NOT EXISTS pending_total NUMERIC(12, 2);
+ALTER TABLE cash_shifts ADD COLUMN IF NOT EXISTS pickup_total NUMERIC(12, 2);
+ALTER TABLE cash_shifts ADD COLUMN IF NOT EXISTS delivery_total NUMERIC(12, 2);
+ALTER TABLE cash_shifts ADD COLUMN IF NOT EXISTS dine_in_total NUMERIC(12, 2);
+
+-- Backfill: los totales se mantienen con deltas, así que tienen que arrancar
+-- con lo que ya hay en orders (sino una caja abierta empieza en 0 y puede quedar
+-- en negativo). Mismo criterio que CashShiftTotals.of: los CANCELLED no suman y
+-- un pedido sin método de pago no suma a ningún método. Las cajas sin pedidos quedan en 0.
+UPDATE cash_shifts cs
+SET order_count    = t.order_count,
+    gross_total    = t.gross_total,
+    cash_total     = t.cash_total,
+    transfer_total = t.transfer_total,
+    card_total     = t.card_total,
+    paid_total     = t.paid_total,
+    pending_total  = t.pending_total,
+    pickup_total   = t.pickup_total,
+    delivery_total = t.delivery_total,
+    dine_in_total  = t.dine_in_total
+FROM (
+    SELECT s.id AS cash_shift_id,
+           COUNT(o.id)                                                                 AS order_count,
+           COALESCE(SUM(COALESCE(o.total, 0)), 0)                                      AS gross_total,
+           COALESCE(SUM(COALESCE(o.total, 0)) FILTER (WHERE o.payment_method = 'CASH'), 0)       AS cash_total,
+           COALESCE(SUM(COALESCE(o.total, 0)) FILTER (WHERE o.payment_method = 'TRANSFER'), 0)   AS transfer_total,
+           COALESCE(SUM(COALESCE(o.total, 0)) FILTER (WHERE o.payment_method = 'CARD'), 0)       AS card_total,
+           COALESCE(SUM(COALESCE(o.total, 0)) FILTER (WHERE o.payment_status = 'PAID'), 0)       AS paid_total,
+           COALESCE(SUM(COALESCE(o.total, 0)) FILTER (WHERE o.payment_status = 'PENDING'), 0)    AS pending_total,
+           COALESCE(SUM(COALESCE(o.total, 0)) FILTER (WHERE o.delivery_method = 'PICKUP'), 0)    AS pickup_total,
+           COALESCE(SUM(COALESCE(o.total, 0)) FILTER (WHERE o.delivery_method = 'DELIVERY'), 0)  AS delivery_total,
+           COALESCE(SUM(COALESCE(o.total, 0)) FILTER (WHERE o.delivery_method = 'DINE_IN'), 0)   AS dine_in_total
+    FROM cash_shifts s
+    LEFT JOIN orders o ON o.cash_shift_id = s.id AND o.order_status <> 'CANCELLED'
+    GROUP BY s.id
+) t
+WHERE cs.id = t.cash_shift_id;
@@ -0,0 +1,3 @@
+-- Versión de la carta de cada negocio: MenuCache la sube en la misma transacción de
+-- cada cambio de producto o combo y la usa como ETag de GET /api/products y /api/combos.
+ALTER TABLE businesses ADD COLUMN IF NOT EXISTS menu_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,68 @@
+package com.pizzeria.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica que el bulkhead preste como mucho maxConcurrent conexiones, que
+ * rechace rápido al llenarse y que cada close devuelva su permiso una sola vez.
+ */
+class BulkheadDataSourceTest {
+
+    private DataSource pool;
+    private BulkheadDataSource bulkhead;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        bulkhead = new BulkheadDataSource(pool, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void rejectsWhenAllPermitsAreInUse() throws SQLException {
+        bulkhead.getConnection();
+        bulkhead.getConnection();
+
+        assertThatThrownBy(bulkhead::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(bulkhead.getRejected()).isEqualTo(1);
+        // El rechazo no llega a pedirle conexión al pool
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    void closeReturnsThePermitOnlyOnce() throws SQLException {
+        Connection first = bulkhead.getConnection();
+        Connection second = bulkhead.getConnection();
+
+        first.close();
+        first.close();
+
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+        second.close();
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void failedBorrowReleasesThePermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool agotado"));
+
+        assertThatThrownBy(bulkhead::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(2);
+        assertThat(bulkhead.getRejected()).isZero();
+    }
+}
@@ -0,0 +1,69 @@
+package com.pizzeria.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.service.OrderStatusChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifica los tags de las métricas de negocio y el límite de cardinalidad
+ * de businessId (los negocios que exceden el límite se agrupan en "other").
+ */
+class BusinessMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private BusinessMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MetricsConfig().businessTagCardinalityLimit(2));
+        metrics = new BusinessMetrics(registry);
+    }
+
+    @Test
+    void businessesOverTheLimitAreGroupedAsOther() {
+        for (long businessId = 1; businessId <= 4; businessId++) {
+            metrics.time(BusinessMetrics.ORDER_CREATE, businessId, () -> "ok");
+        }
+        // Un negocio ya visto conserva su tag aunque se haya llegado al límite
+        metrics.time(BusinessMetrics.ORDER_CREATE, 1L, () -> "ok");
+
+        assertThat(count("1")).isEqualTo(2);
+        assertThat(count("2")).isEqualTo(1);
+        assertThat(count(MetricsConfig.OVERFLOW)).isEqualTo(2);
+        assertThat(registry.find(BusinessMetrics.ORDER_CREATE).timers()).hasSize(3);
+    }
+
+    @Test
+    void failedOperationsAreTaggedAsError() {
+        assertThatThrownBy(() -> metrics.time(BusinessMetrics.EXPENSE_CREATE, 1L, () -> {
+            throw new IllegalArgumentException("Insumo no encontrado");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(registry.get(BusinessMetrics.EXPENSE_CREATE).tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void statusTransitionsAreCountedByFromAndTo() {
+        metrics.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "PENDING", OrderStatus.PREPARING, 1));
+        metrics.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "PENDING", OrderStatus.PREPARING, 1));
+        metrics.onOrderStatusChanged(new OrderStatusChangedEvent(
+                1L, OrderStatusChangedEvent.CASH_SHIFT_CLOSE, OrderStatus.DELIVERED, 12));
+
+        assertThat(registry.get(BusinessMetrics.ORDER_STATUS_TRANSITIONS)
+                .tags("from", "PENDING", "to", "PREPARING").counter().count()).isEqualTo(2);
+        assertThat(registry.get(BusinessMetrics.ORDER_STATUS_TRANSITIONS)
+                .tags("from", OrderStatusChangedEvent.CASH_SHIFT_CLOSE, "to", "DELIVERED").counter().count()).isEqualTo(12);
+    }
+
+    private long count(String businessId) {
+        return registry.get(BusinessMetrics.ORDER_CREATE).tag(BusinessMetrics.BUSINESS_TAG, businessId).timer().count();
+    }
+}
@@ -0,0 +1,142 @@
+package com.pizzeria.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pizzeria.backend.model.User;
+import com.pizzeria.backend.model.UserBusinessRole;
+import com.pizzeria.backend.model.enums.Role;
+import com.pizzeria.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifica las claves de PrincipalCache (subject + emisión del token) y que
+ * un cambio del usuario o de sus roles la invalide recién después del commit:
+ * antes del commit un request concurrente leería los datos viejos.
+ *
+ * Sin transacción de test: la invalidación corre en el afterCommit.
+ */
+@DataJpaTest(properties = {
+    "application.security.principal-cache.max-size=100",
+    "application.security.principal-cache.ttl=1m"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PrincipalCache.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PrincipalCacheTest {
+
+    private static final String EMAIL = "a@b.c";
+    private static final Date ISSUED_AT = new Date(1_000L);
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().email(EMAIL).firstName("Ana").password("x").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void keyedBySubjectAndIssuedAt() {
+        UserDetails first = load(ISSUED_AT);
+
+        assertThat(load(ISSUED_AT)).isSameAs(first);
+        // Otro token del mismo usuario es otra entrada
+        load(new Date(2_000L));
+        assertThat(loads).hasValue(2);
+
+        // Invalidar al usuario descarta todos sus tokens
+        principalCache.invalidate(user);
+        load(ISSUED_AT);
+        load(new Date(2_000L));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        assertThatThrownBy(() -> principalCache.get(EMAIL, ISSUED_AT, () -> {
+            throw new IllegalStateException("BD caída");
+        })).isInstanceOf(IllegalStateException.class);
+
+        load(ISSUED_AT);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void userChangeInvalidatesAfterCommit() {
+        load(ISSUED_AT);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User changed = userRepository.findByEmail(EMAIL).orElseThrow();
+            changed.setFirstName("Ana María");
+            userRepository.saveAndFlush(changed);
+            // Ya hizo flush pero no commit: la entrada sigue
+            load(ISSUED_AT);
+            assertThat(loads).hasValue(1);
+        });
+
+        load(ISSUED_AT);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void roleChangeInvalidatesAfterCommitButNotOnRollback() {
+        load(ISSUED_AT);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            addRole();
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+        load(ISSUED_AT);
+        assertThat(loads).hasValue(1);
+
+        transactionTemplate.executeWithoutResult(status -> addRole());
+        load(ISSUED_AT);
+        assertThat(loads).hasValue(2);
+    }
+
+    private void addRole() {
+        User owner = userRepository.findByEmail(EMAIL).orElseThrow();
+        owner.getRoles().add(UserBusinessRole.builder().user(owner).businessId(1L).role(Role.OWNER).build());
+        userRepository.saveAndFlush(owner);
+    }
+
+    private UserDetails load(Date issuedAt) {
+        return principalCache.get(EMAIL, issuedAt, () -> {
+            loads.incrementAndGet();
+            return userRepository.findByEmail(EMAIL).orElseThrow();
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.pizzeria.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Verifica que application-prod.yaml (encima de application.yaml) pase su propio
+ * chequeo de arranque y que las opciones de desarrollo se rechacen.
+ */
+class ProductionSettingsGuardTest {
+
+    @Test
+    void prodProfileOverridesEveryDevOnlySetting() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.setActiveProfiles("prod");
+        MutablePropertySources sources = environment.getPropertySources();
+        sources.addLast(new MapPropertySource("variables", Map.of(
+                "DB_URL", "jdbc:postgresql://db:5432/pizzeria_db",
+                "DB_USERNAME", "pizzeria",
+                "DB_PASSWORD", "secreta",
+                "JWT_SECRET_KEY", "clave")));
+        load(sources, "application-prod.yaml");
+        load(sources, "application.yaml");
+
+        assertThat(ProductionSettingsGuard.devOnlySettings(environment)).isEmpty();
+    }
+
+    @Test
+    void devOnlySettingsPreventStartup() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "true")
+                .withProperty("spring.jpa.hibernate.ddl-auto", "update")
+                .withProperty("spring.datasource.url", "jdbc:h2:mem:pizzeria")
+                .withProperty("logging.level.org.hibernate.SQL", "debug");
+        environment.setActiveProfiles("prod");
+        ProductionSettingsGuard guard = new ProductionSettingsGuard();
+        guard.setEnvironment(environment);
+
+        assertThatThrownBy(() -> guard.postProcessBeanFactory(new DefaultListableBeanFactory()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("show-sql")
+                .hasMessageContaining("ddl-auto=update")
+                .hasMessageContaining("H2")
+                .hasMessageContaining("org.hibernate.SQL=debug")
+                // open-in-view sin configurar queda activado
+                .hasMessageContaining("open-in-view");
+    }
+
+    private static void load(MutablePropertySources sources, String file) throws IOException {
+        new YamlPropertySourceLoader().load(file, new ClassPathResource(file)).forEach(sources::addLast);
+    }
+}
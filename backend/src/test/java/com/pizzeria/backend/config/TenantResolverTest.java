@@ -0,0 +1,81 @@
+package com.pizzeria.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+
+import com.pizzeria.backend.model.User;
+import com.pizzeria.backend.model.UserBusinessRole;
+import com.pizzeria.backend.model.enums.Role;
+
+/**
+ * Verifica que los negocios del usuario viajen en el token y que el businessId
+ * de cada request se valide solo contra ellos (sin repositorios).
+ */
+class TenantResolverTest {
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private TenantResolver resolver;
+    private TenantMemberships memberships;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET_KEY, 60_000);
+        resolver = new TenantResolver();
+
+        User user = User.builder().email("duenio@pizzeria.test").build();
+        user.setRoles(List.of(
+                UserBusinessRole.builder().user(user).businessId(1L).role(Role.OWNER).build(),
+                UserBusinessRole.builder().user(user).businessId(7L).role(Role.EMPLOYEE).build()));
+        memberships = TenantMemberships.fromClaims(jwtService.parseToken(jwtService.generateTenantToken(user)));
+    }
+
+    @Test
+    void tokenCarriesBusinessesAndRoles() {
+        assertThat(memberships.roleIn(1L)).contains(Role.OWNER);
+        assertThat(memberships.roleIn(7L)).contains(Role.EMPLOYEE);
+        assertThat(memberships.roleIn(2L)).isEmpty();
+    }
+
+    @Test
+    void memberBusinessPasses() {
+        assertThat(resolver.preHandle(request("7"), new MockHttpServletResponse(), new Object())).isTrue();
+    }
+
+    @Test
+    void otherBusinessIsDenied() {
+        assertThatThrownBy(() -> resolver.preHandle(request("2"), new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(AccessDeniedException.class);
+        // Repetir el parámetro no permite colar un negocio ajeno
+        assertThatThrownBy(() -> resolver.preHandle(request("1", "2"), new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void tokenWithoutClaimIsDenied() {
+        TenantMemberships none = TenantMemberships.fromClaims(
+                jwtService.parseToken(jwtService.generateToken(User.builder().email("viejo@pizzeria.test").build())));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter(TenantResolver.BUSINESS_PARAM, "1");
+        request.setAttribute(TenantMemberships.REQUEST_ATTRIBUTE, none);
+
+        assertThatThrownBy(() -> resolver.preHandle(request, new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private MockHttpServletRequest request(String... businessIds) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter(TenantResolver.BUSINESS_PARAM, businessIds);
+        request.setAttribute(TenantMemberships.REQUEST_ATTRIBUTE, memberships);
+        return request;
+    }
+}
@@ -0,0 +1,133 @@
+package com.pizzeria.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.pizzeria.backend.model.CashShift;
+import com.pizzeria.backend.model.CashShift.CashShiftStatus;
+import com.pizzeria.backend.model.Expense;
+import com.pizzeria.backend.model.ExpenseItem;
+import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.OrderItem;
+import com.pizzeria.backend.model.Product;
+import com.pizzeria.backend.model.Supply;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+import com.pizzeria.backend.model.enums.SupplyCategory;
+
+/**
+ * Verifica que guardar un pedido o un gasto con muchos ítems no haga un
+ * INSERT por ítem: con IDs por secuencia (pooled-lo) Hibernate agrupa los
+ * INSERT de los ítems en un batch JDBC.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BatchInsertTest {
+
+    private static final Long BUSINESS_ID = 1L;
+    private static final int ITEM_COUNT = 40;
+
+    // 1 INSERT de cabecera + 1 batch de ítems + como mucho un nextval por secuencia (y uno más si se agota el bloque)
+    private static final long MAX_STATEMENTS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    private Statistics statistics;
+    private CashShift cashShift;
+    private Product product;
+    private Supply supply;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        cashShift = entityManager.persist(CashShift.builder()
+                .businessId(BUSINESS_ID)
+                .status(CashShiftStatus.OPEN)
+                .startDate(LocalDateTime.now())
+                .startAmount(BigDecimal.TEN)
+                .build());
+        product = entityManager.persist(Product.builder()
+                .businessId(BUSINESS_ID)
+                .title("Muzza")
+                .price(new BigDecimal("10.00"))
+                .build());
+        supply = entityManager.persist(Supply.builder()
+                .businessId(BUSINESS_ID)
+                .name("Harina")
+                .category(SupplyCategory.STOCK)
+                .build());
+        entityManager.flush();
+    }
+
+    @Test
+    void orderItemsAreInsertedInOneBatch() {
+        Order order = Order.builder()
+                .businessId(BUSINESS_ID)
+                .cashShift(cashShift)
+                .orderStatus(OrderStatus.PENDING)
+                .paymentStatus(PaymentStatus.PENDING)
+                .deliveryMethod(DeliveryMethod.PICKUP)
+                .total(product.getPrice().multiply(BigDecimal.valueOf(ITEM_COUNT)))
+                .items(new ArrayList<>())
+                .build();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            order.getItems().add(OrderItem.builder().order(order).product(product)
+                    .quantity(1).unitPrice(product.getPrice()).subtotal(product.getPrice()).build());
+        }
+
+        long statements = countStatements(() -> orderRepository.saveAndFlush(order));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ITEM_COUNT + 1);
+        assertThat(statements).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    @Test
+    void expenseItemsAreInsertedInOneBatch() {
+        Expense expense = Expense.builder()
+                .businessId(BUSINESS_ID)
+                .date(LocalDate.now())
+                .total(new BigDecimal("15.00").multiply(BigDecimal.valueOf(ITEM_COUNT)))
+                .items(new ArrayList<>())
+                .build();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            expense.getItems().add(ExpenseItem.builder().expense(expense).supply(supply)
+                    .quantity(1).unitPrice(new BigDecimal("15.00")).subtotal(new BigDecimal("15.00")).build());
+        }
+
+        long statements = countStatements(() -> expenseRepository.saveAndFlush(expense));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ITEM_COUNT + 1);
+        assertThat(statements).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
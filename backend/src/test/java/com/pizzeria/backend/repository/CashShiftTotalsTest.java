@@ -0,0 +1,91 @@
+package com.pizzeria.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.pizzeria.backend.model.CashShift;
+import com.pizzeria.backend.model.CashShift.CashShiftStatus;
+import com.pizzeria.backend.model.CashShiftTotals;
+import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+
+/**
+ * Verifica que los totales en vivo de la caja se mantengan con deltas
+ * (alta, cambio de pago y cancelación) igual que si se recalcularan.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CashShiftTotalsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CashShiftRepository cashShiftRepository;
+
+    @Test
+    void deltasKeepLiveTotalsInSync() {
+        CashShift cashShift = entityManager.persist(CashShift.builder()
+                .businessId(1L)
+                .status(CashShiftStatus.OPEN)
+                .startDate(LocalDateTime.now())
+                .startAmount(BigDecimal.TEN)
+                .build());
+
+        Order first = order(PaymentMethod.CASH, DeliveryMethod.DELIVERY, "20.00");
+        Order second = order(PaymentMethod.CARD, DeliveryMethod.PICKUP, "15.50");
+        add(cashShift, CashShiftTotals.zero(), CashShiftTotals.of(first));
+        add(cashShift, CashShiftTotals.zero(), CashShiftTotals.of(second));
+
+        // Se cobra el primero con transferencia
+        CashShiftTotals before = CashShiftTotals.of(first);
+        first.setPaymentMethod(PaymentMethod.TRANSFER);
+        first.setPaymentStatus(PaymentStatus.PAID);
+        add(cashShift, before, CashShiftTotals.of(first));
+
+        // Se cancela el segundo: deja de sumar
+        before = CashShiftTotals.of(second);
+        second.setOrderStatus(OrderStatus.CANCELLED);
+        add(cashShift, before, CashShiftTotals.of(second));
+
+        entityManager.clear();
+        CashShiftTotals totals = cashShiftRepository.findById(cashShift.getId()).orElseThrow().getTotals();
+
+        assertThat(totals.getOrderCount()).isEqualTo(1L);
+        assertThat(totals.getGrossTotal()).isEqualByComparingTo("20.00");
+        assertThat(totals.totalFor(PaymentMethod.TRANSFER)).isEqualByComparingTo("20.00");
+        assertThat(totals.totalFor(PaymentMethod.CASH)).isEqualByComparingTo("0");
+        assertThat(totals.totalFor(PaymentMethod.CARD)).isEqualByComparingTo("0");
+        assertThat(totals.totalFor(PaymentStatus.PAID)).isEqualByComparingTo("20.00");
+        assertThat(totals.totalFor(PaymentStatus.PENDING)).isEqualByComparingTo("0");
+        assertThat(totals.totalFor(DeliveryMethod.DELIVERY)).isEqualByComparingTo("20.00");
+        assertThat(totals.totalFor(DeliveryMethod.PICKUP)).isEqualByComparingTo("0");
+    }
+
+    private void add(CashShift cashShift, CashShiftTotals before, CashShiftTotals after) {
+        assertThat(cashShiftRepository.addTotals(cashShift.getId(), after.minus(before))).isEqualTo(1);
+    }
+
+    private static Order order(PaymentMethod paymentMethod, DeliveryMethod deliveryMethod, String total) {
+        return Order.builder()
+                .orderStatus(OrderStatus.PENDING)
+                .paymentStatus(PaymentStatus.PENDING)
+                .paymentMethod(paymentMethod)
+                .deliveryMethod(deliveryMethod)
+                .total(new BigDecimal(total))
+                .build();
+    }
+}
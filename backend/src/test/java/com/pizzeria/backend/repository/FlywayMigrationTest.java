@@ -0,0 +1,79 @@
+package com.pizzeria.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Migra sobre PostgreSQL real: las migraciones usan SQL que H2 no entiende.
+ *
+ * El contexto levanta sobre una base "pre-Flyway" (V1 aplicado a mano, como
+ * la dejaba ddl-auto): Flyway la toma como baseline, corre V2 en adelante y
+ * Hibernate valida el esquema. Una base vacía migrada desde V1 tiene que
+ * terminar con exactamente las mismas columnas.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationTest {
+
+    private static final String COLUMNS = """
+            SELECT table_name, column_name, data_type, is_nullable, numeric_precision, numeric_scale
+            FROM information_schema.columns
+            WHERE table_schema = 'public' AND table_name <> 'flyway_schema_history'
+            ORDER BY table_name, column_name
+            """;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> legacy = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScript("db/migration/V1__initial_schema.sql");
+
+    @Container
+    static final PostgreSQLContainer<?> fresh = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void preFlywayDatabaseIsBaselinedAndValidated() {
+        // Si el contexto levantó, ddl-auto=validate ya pasó
+        String v1Type = jdbcTemplate.queryForObject(
+                "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class);
+        assertThat(v1Type).isEqualTo("BASELINE");
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void freshDatabaseEndsWithTheSameSchema() {
+        DataSource dataSource = new DriverManagerDataSource(
+                fresh.getJdbcUrl(), fresh.getUsername(), fresh.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        List<String> migrated = columns(new JdbcTemplate(dataSource));
+        assertThat(migrated).isNotEmpty().isEqualTo(columns(jdbcTemplate));
+    }
+
+    private static List<String> columns(JdbcTemplate jdbc) {
+        return jdbc.query(COLUMNS, (rs, i) -> String.join(" ",
+                rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                rs.getString(5), rs.getString(6)));
+    }
+}
@@ -0,0 +1,181 @@
+package com.pizzeria.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.pizzeria.backend.dto.order.OrderResponse;
+import com.pizzeria.backend.mapper.OrderMapper;
+import com.pizzeria.backend.mapper.OrderMapperImpl;
+import com.pizzeria.backend.model.Address;
+import com.pizzeria.backend.model.CashShift;
+import com.pizzeria.backend.model.CashShift.CashShiftStatus;
+import com.pizzeria.backend.model.Combo;
+import com.pizzeria.backend.model.Customer;
+import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.OrderItem;
+import com.pizzeria.backend.model.Product;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+
+/**
+ * Verifica que leer y mapear pedidos a OrderResponse use una cantidad fija de
+ * queries, sin importar cuántos pedidos haya (sin N+1 lazy loads).
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(OrderMapperImpl.class)
+class OrderRepositoryFetchPlanTest {
+
+    private static final Long BUSINESS_ID = 1L;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    private Statistics statistics;
+    private CashShift cashShift;
+    private Product product;
+    private Combo combo;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        cashShift = entityManager.persist(CashShift.builder()
+                .businessId(BUSINESS_ID)
+                .status(CashShiftStatus.OPEN)
+                .startDate(LocalDateTime.now())
+                .startAmount(BigDecimal.TEN)
+                .build());
+        product = entityManager.persist(Product.builder()
+                .businessId(BUSINESS_ID)
+                .title("Muzza")
+                .price(new BigDecimal("10.00"))
+                .build());
+        combo = entityManager.persist(Combo.builder()
+                .businessId(BUSINESS_ID)
+                .name("Combo Familiar")
+                .price(new BigDecimal("25.00"))
+                .comboItems(new ArrayList<>())
+                .build());
+    }
+
+    @Test
+    void kanbanQueryUsesSameStatementCountForAnyNumberOfOrders() {
+        persistOrders(2);
+        long fewOrders = countStatements(() -> mapOpenShiftOrders(2));
+
+        persistOrders(8);
+        long manyOrders = countStatements(() -> mapOpenShiftOrders(10));
+
+        assertThat(fewOrders).isEqualTo(1);
+        assertThat(manyOrders).isEqualTo(fewOrders);
+    }
+
+    @Test
+    void historyDetailsQueryUsesSameStatementCountForAnyNumberOfOrders() {
+        List<Long> firstIds = persistOrders(2);
+        long fewOrders = countStatements(() -> mapByIds(firstIds));
+
+        List<Long> allIds = new ArrayList<>(firstIds);
+        allIds.addAll(persistOrders(8));
+        long manyOrders = countStatements(() -> mapByIds(allIds));
+
+        assertThat(fewOrders).isEqualTo(1);
+        assertThat(manyOrders).isEqualTo(fewOrders);
+    }
+
+    private void mapOpenShiftOrders(int expected) {
+        List<OrderResponse> responses = orderRepository
+                .findByBusinessIdAndCashShiftOrderByCreatedAtDesc(BUSINESS_ID, cashShift).stream()
+                .map(orderMapper::toResponse)
+                .toList();
+        assertMapped(responses, expected);
+    }
+
+    private void mapByIds(List<Long> ids) {
+        List<OrderResponse> responses = orderRepository.findWithDetailsByIdIn(ids).stream()
+                .map(orderMapper::toResponse)
+                .toList();
+        assertMapped(responses, ids.size());
+    }
+
+    private void assertMapped(List<OrderResponse> responses, int expected) {
+        assertThat(responses).hasSize(expected);
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.customerName()).isNotNull();
+            assertThat(response.deliveryAddress()).isNotNull();
+            assertThat(response.cashShiftId()).isNotNull();
+            assertThat(response.items()).extracting(OrderResponse.OrderItemResponse::name)
+                    .containsExactlyInAnyOrder("Muzza", "Combo Familiar");
+        });
+    }
+
+    // Cada pedido tiene su propio cliente y dirección para que un N+1 se note
+    private List<Long> persistOrders(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Customer customer = entityManager.persist(Customer.builder()
+                    .businessId(BUSINESS_ID)
+                    .name("Cliente " + i)
+                    .build());
+            Address address = entityManager.persist(Address.builder()
+                    .customer(customer)
+                    .street("Calle")
+                    .number(String.valueOf(i))
+                    .build());
+
+            Order order = Order.builder()
+                    .businessId(BUSINESS_ID)
+                    .cashShift(cashShift)
+                    .customer(customer)
+                    .address(address)
+                    .orderStatus(OrderStatus.PENDING)
+                    .paymentStatus(PaymentStatus.PENDING)
+                    .paymentMethod(PaymentMethod.CASH)
+                    .deliveryMethod(DeliveryMethod.DELIVERY)
+                    .total(new BigDecimal("35.00"))
+                    .items(new ArrayList<>())
+                    .build();
+            order.getItems().add(OrderItem.builder().order(order).product(product)
+                    .quantity(1).unitPrice(product.getPrice()).subtotal(product.getPrice()).build());
+            order.getItems().add(OrderItem.builder().order(order).combo(combo)
+                    .quantity(1).unitPrice(combo.getPrice()).subtotal(combo.getPrice()).build());
+
+            ids.add(entityManager.persist(order).getId());
+        }
+        entityManager.flush();
+        return ids;
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,101 @@
+package com.pizzeria.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.pizzeria.backend.config.SecondLevelCacheConfig;
+import com.pizzeria.backend.model.Product;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica el cache de 2do nivel con la configuración real de regiones:
+ * la segunda lectura por PK o de la carta activa no va a la BD, y el
+ * control de negocio se sigue aplicando sobre la entidad cacheada.
+ *
+ * Sin transacción de test: el cache solo se llena con datos ya commiteados.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    private static final Long BUSINESS_ID = 1L;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Statistics statistics;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        product = productRepository.save(Product.builder()
+                .businessId(BUSINESS_ID)
+                .title("Muzza")
+                .price(new BigDecimal("10.00"))
+                .build());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void findByIdAndBusinessIdIsServedFromCache() {
+        countStatements(() -> productRepository.findByIdAndBusinessId(product.getId(), BUSINESS_ID));
+
+        long cached = countStatements(() ->
+                assertThat(productRepository.findByIdAndBusinessId(product.getId(), BUSINESS_ID)).isPresent());
+        long otherBusiness = countStatements(() ->
+                assertThat(productRepository.findByIdAndBusinessId(product.getId(), 2L)).isEmpty());
+
+        assertThat(cached).isZero();
+        assertThat(otherBusiness).isZero();
+        // Las estadísticas se reinician en cada countStatements: solo cuenta la última lectura
+        assertThat(statistics.getCacheRegionStatistics("product").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void activeMenuQueryIsServedFromQueryCache() {
+        countStatements(() -> productRepository.findByBusinessIdAndActiveTrue(BUSINESS_ID));
+
+        long cached = countStatements(() ->
+                assertThat(productRepository.findByBusinessIdAndActiveTrue(BUSINESS_ID)).hasSize(1));
+
+        assertThat(cached).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    // Cada llamada al repositorio usa su propia transacción (y contexto de persistencia)
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,178 @@
+package com.pizzeria.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pizzeria.backend.dto.order.BulkOrderStatusRequest;
+import com.pizzeria.backend.dto.order.CreateOrderRequest;
+import com.pizzeria.backend.dto.order.OrderItemRequest;
+import com.pizzeria.backend.dto.order.OrderResponse;
+import com.pizzeria.backend.dto.order.UpdateOrderDetailsRequest;
+import com.pizzeria.backend.mapper.OrderMapperImpl;
+import com.pizzeria.backend.model.CashShift;
+import com.pizzeria.backend.model.CashShiftTotals;
+import com.pizzeria.backend.model.Product;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+import com.pizzeria.backend.repository.CashShiftRepository;
+import com.pizzeria.backend.repository.OrderRepository;
+import com.pizzeria.backend.repository.ProductRepository;
+
+/**
+ * Verifica el orden de locks caja -> pedidos entre el cierre de caja y la
+ * edición de pedidos (de a uno o en lote): una edición que llega durante el
+ * cierre espera y se rechaza (sin deadlock), y una caja cerrada no cambia sus totales.
+ *
+ * Sin transacción de test: cada thread usa su propia transacción.
+ */
+@DataJpaTest(properties = {
+    "application.cash-shift.open-registry.max-size=100",
+    "application.cash-shift.open-registry.ttl=1m"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderService.class, OrderLifecycle.class, OrderCatalogResolver.class, CashShiftService.class,
+        OpenCashShiftRegistry.class, OrderMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CashShiftLockOrderTest {
+
+    private static final Long BUSINESS_ID = 1L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CashShiftService cashShiftService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CashShiftRepository cashShiftRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long productId;
+    private Long cashShiftId;
+
+    @BeforeEach
+    void setUp() {
+        cashShiftId = cashShiftService.openCashShift(BUSINESS_ID, BigDecimal.TEN).getId();
+        productId = productRepository.save(Product.builder()
+                .businessId(BUSINESS_ID)
+                .title("Muzza")
+                .price(new BigDecimal("10.00"))
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        cashShiftRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void editDuringCloseWaitsForTheShiftAndIsRejected() throws Exception {
+        Long orderId = createOrder().id();
+        CashShiftTotals totals = totals();
+        CompletableFuture<CashShift> close = slowClose();
+
+        // Cambia el medio de pago (mueve los totales): si tomara el pedido antes que la caja, deadlock
+        assertThatThrownBy(() -> orderService.updateOrderDetails(BUSINESS_ID, orderId,
+                new UpdateOrderDetailsRequest(null, PaymentMethod.TRANSFER, null), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cerrada");
+
+        assertThat(close.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(CashShift.CashShiftStatus.CLOSED);
+        assertThat(totals()).isEqualTo(totals);
+        assertThat(orderRepository.findById(orderId).orElseThrow().getPaymentMethod()).isEqualTo(PaymentMethod.CASH);
+    }
+
+    @Test
+    void bulkChangeDuringCloseWaitsForTheShiftAndIsRejected() throws Exception {
+        Long first = createOrder().id();
+        Long second = createOrder().id();
+        CashShiftTotals totals = totals();
+        CompletableFuture<CashShift> close = slowClose();
+
+        // Si bloqueara los pedidos antes que la caja, el UPDATE de pedidos del cierre quedaría en deadlock
+        assertThatThrownBy(() -> orderService.updateOrderStatuses(BUSINESS_ID,
+                new BulkOrderStatusRequest(List.of(first, second), null, PaymentStatus.PAID)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cerrada");
+
+        assertThat(close.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(CashShift.CashShiftStatus.CLOSED);
+        assertThat(totals()).isEqualTo(totals);
+        assertThat(orderRepository.findAllById(List.of(first, second)))
+                .allSatisfy(order -> assertThat(order.getPaymentStatus()).isEqualTo(PaymentStatus.PENDING));
+    }
+
+    @Test
+    void closedShiftTotalsDoNotChange() {
+        Long orderId = createOrder().id();
+        cashShiftService.closeCashShift(BUSINESS_ID, BigDecimal.ZERO);
+        CashShiftTotals totals = totals();
+
+        assertThatThrownBy(() -> orderService.updateOrderDetails(BUSINESS_ID, orderId,
+                new UpdateOrderDetailsRequest(null, PaymentMethod.TRANSFER, null), null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(totals()).isEqualTo(totals);
+        assertThat(orderRepository.findById(orderId).orElseThrow().getOrderStatus()).isEqualTo(OrderStatus.DELIVERED);
+    }
+
+    // Cierre que toma la caja y tarda: vuelve cuando el lock ya está tomado
+    private CompletableFuture<CashShift> slowClose() throws InterruptedException {
+        CountDownLatch shiftLocked = new CountDownLatch(1);
+        CompletableFuture<CashShift> close = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            cashShiftRepository.findOpenCashShiftForUpdate(BUSINESS_ID).orElseThrow();
+            shiftLocked.countDown();
+            sleep(500);
+            return cashShiftService.closeCashShift(BUSINESS_ID, BigDecimal.ZERO);
+        }));
+        assertThat(shiftLocked.await(5, TimeUnit.SECONDS)).isTrue();
+        return close;
+    }
+
+    private CashShiftTotals totals() {
+        return cashShiftRepository.findById(cashShiftId).orElseThrow().getTotals();
+    }
+
+    private OrderResponse createOrder() {
+        return orderService.createOrder(BUSINESS_ID, new CreateOrderRequest(null, null, null, DeliveryMethod.PICKUP,
+                PaymentMethod.CASH, null, List.of(new OrderItemRequest(productId, null, 2)), null));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
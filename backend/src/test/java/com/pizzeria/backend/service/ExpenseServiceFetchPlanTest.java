@@ -0,0 +1,164 @@
+package com.pizzeria.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.pizzeria.backend.dto.common.CursorPage;
+import com.pizzeria.backend.dto.expense.ExpenseItemResponse;
+import com.pizzeria.backend.dto.expense.ExpenseResponse;
+import com.pizzeria.backend.mapper.ExpenseItemMapperImpl;
+import com.pizzeria.backend.model.Expense;
+import com.pizzeria.backend.model.ExpenseItem;
+import com.pizzeria.backend.model.Supply;
+import com.pizzeria.backend.model.enums.SupplyCategory;
+import com.pizzeria.backend.repository.ExpenseRepository;
+
+/**
+ * Verifica que las lecturas de gastos (rango de fechas, proveedor y listado
+ * paginado) usen una cantidad fija de queries sin importar cuántos gastos,
+ * proveedores o insumos haya (sin N+1 lazy loads).
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ExpenseServiceFetchPlanTest {
+
+    private static final Long BUSINESS_ID = 1L;
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    private ExpenseService expenseService;
+    private Statistics statistics;
+    private com.pizzeria.backend.model.Supplier supplier;
+    private int persisted;
+
+    @BeforeEach
+    void setUp() {
+        // Solo se usan las lecturas: el resto de las dependencias no hace falta
+        expenseService = new ExpenseService(expenseRepository, null, null, null, new ExpenseItemMapperImpl());
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        supplier = entityManager.persist(com.pizzeria.backend.model.Supplier.builder()
+                .businessId(BUSINESS_ID)
+                .name("Distribuidor X")
+                .build());
+    }
+
+    @Test
+    void dateRangeUsesSameStatementCountForAnyNumberOfExpenses() {
+        persistExpenses(2);
+        long few = countStatements(() -> expenseService.getExpensesByDateRange(BUSINESS_ID, FROM, FROM.plusMonths(1)), 2);
+
+        persistExpenses(10);
+        long many = countStatements(() -> expenseService.getExpensesByDateRange(BUSINESS_ID, FROM, FROM.plusMonths(1)), 12);
+
+        assertThat(few).isEqualTo(1);
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void supplierQueryUsesSameStatementCountForAnyNumberOfExpenses() {
+        persistExpenses(2);
+        long few = countStatements(() -> expenseService.getExpensesBySupplier(BUSINESS_ID, supplier.getId()), 2);
+
+        persistExpenses(10);
+        long many = countStatements(() -> expenseService.getExpensesBySupplier(BUSINESS_ID, supplier.getId()), 12);
+
+        assertThat(few).isEqualTo(1);
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void pagedListingUsesTwoStatementsPerPageAndWalksAllExpenses() {
+        persistExpenses(12);
+
+        List<ExpenseResponse> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            String current = cursor;
+            CursorPage<ExpenseResponse> page = countPage(() -> expenseService.getExpensePage(BUSINESS_ID, current, 5));
+            all.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(all).hasSize(12);
+        assertThat(all).extracting(ExpenseResponse::id).doesNotHaveDuplicates();
+        assertThat(all).extracting(ExpenseResponse::date).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertMapped(all);
+    }
+
+    private CursorPage<ExpenseResponse> countPage(Supplier<CursorPage<ExpenseResponse>> action) {
+        entityManager.clear();
+        statistics.clear();
+        CursorPage<ExpenseResponse> page = action.get();
+        // Fase 1 (IDs) + fase 2 (detalle)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        return page;
+    }
+
+    private long countStatements(Supplier<List<ExpenseResponse>> action, int expected) {
+        entityManager.clear();
+        statistics.clear();
+        List<ExpenseResponse> responses = action.get();
+        assertThat(responses).hasSize(expected);
+        assertMapped(responses);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertMapped(List<ExpenseResponse> responses) {
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.supplierName()).isEqualTo("Distribuidor X");
+            assertThat(response.items()).hasSize(2);
+            assertThat(response.items()).extracting(ExpenseItemResponse::supplyName).doesNotContainNull();
+        });
+    }
+
+    // Cada gasto usa sus propios insumos para que un N+1 se note
+    private void persistExpenses(int count) {
+        for (int i = 0; i < count; i++, persisted++) {
+            Expense expense = Expense.builder()
+                    .businessId(BUSINESS_ID)
+                    .supplier(supplier)
+                    .date(FROM.plusDays(persisted % 28))
+                    .total(new BigDecimal("30.00"))
+                    .items(new ArrayList<>())
+                    .build();
+            for (int line = 0; line < 2; line++) {
+                Supply supply = entityManager.persist(Supply.builder()
+                        .businessId(BUSINESS_ID)
+                        .name("Insumo " + persisted + "-" + line)
+                        .category(SupplyCategory.STOCK)
+                        .build());
+                expense.getItems().add(ExpenseItem.builder()
+                        .expense(expense)
+                        .supply(supply)
+                        .quantity(1)
+                        .unitPrice(new BigDecimal("15.00"))
+                        .subtotal(new BigDecimal("15.00"))
+                        .build());
+            }
+            entityManager.persist(expense);
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,109 @@
+package com.pizzeria.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pizzeria.backend.dto.product.ProductRequest;
+import com.pizzeria.backend.dto.product.ProductResponse;
+import com.pizzeria.backend.mapper.ComboMapperImpl;
+import com.pizzeria.backend.mapper.ProductMapperImpl;
+import com.pizzeria.backend.model.Business;
+import com.pizzeria.backend.repository.BusinessRepository;
+import com.pizzeria.backend.repository.ProductRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifica que el ETag de la carta salga de businesses.menu_version: cambia con
+ * cada cambio confirmado (y con el mismo valor en cualquier instancia) y no
+ * cambia si la transacción hace rollback.
+ *
+ * Sin transacción de test: los listeners de MenuChangedEvent necesitan el commit.
+ */
+@DataJpaTest(properties = {
+    "application.menu-cache.max-size=100",
+    "application.menu-cache.ttl=1m"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MenuCache.class, ProductService.class, ComboService.class,
+        ProductMapperImpl.class, ComboMapperImpl.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MenuCacheTest {
+
+    @Autowired
+    private MenuCache menuCache;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long businessId;
+    private ProductResponse product;
+
+    @BeforeEach
+    void setUp() {
+        businessId = businessRepository.save(Business.builder().name("Pizzería").build()).getId();
+        product = productService.createProduct(businessId, request("Muzza"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        businessRepository.deleteAll();
+    }
+
+    @Test
+    void committedChangeBumpsTheVersionAndReloadsTheSnapshot() {
+        MenuCache.Snapshot<ProductResponse> before = menuCache.products(businessId);
+        assertThat(menuCache.products(businessId)).isSameAs(before);
+
+        productService.updateProduct(businessId, product.id(), request("Napolitana"));
+
+        MenuCache.Snapshot<ProductResponse> after = menuCache.products(businessId);
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(after.items()).extracting(ProductResponse::title).containsExactly("Napolitana");
+        // El ETag es la versión de la BD: otra instancia que cargue ahora calcula el mismo
+        assertThat(after.etag()).isEqualTo("\"p" + businessRepository.findMenuVersion(businessId).orElseThrow() + "\"");
+    }
+
+    @Test
+    void rolledBackChangeKeepsTheVersionAndTheSnapshot() {
+        MenuCache.Snapshot<ProductResponse> before = menuCache.products(businessId);
+        long version = businessRepository.findMenuVersion(businessId).orElseThrow();
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            productService.updateProduct(businessId, product.id(), request("Napolitana"));
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(businessRepository.findMenuVersion(businessId)).contains(version);
+        assertThat(menuCache.products(businessId)).isSameAs(before);
+    }
+
+    private static ProductRequest request(String title) {
+        return new ProductRequest(title, null, new BigDecimal("10.00"), "PIZZA", true);
+    }
+}
@@ -0,0 +1,133 @@
+package com.pizzeria.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.pizzeria.backend.model.CashShift;
+import com.pizzeria.backend.model.CashShift.CashShiftStatus;
+import com.pizzeria.backend.model.CashShiftTotals;
+import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Verifica que el alta de pedidos tome la caja del registro en memoria sin
+ * consultarla, y que un registro desactualizado (caja cerrada en otra
+ * instancia) se detecte en el UPDATE de totales en vez de sumar a la caja vieja.
+ */
+@DataJpaTest(properties = {
+    "application.cash-shift.open-registry.max-size=100",
+    "application.cash-shift.open-registry.ttl=1m"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CashShiftService.class, OpenCashShiftRegistry.class})
+class OpenCashShiftRegistryTest {
+
+    private static final Long BUSINESS_ID = 1L;
+    private static final CashShiftTotals ORDER = CashShiftTotals.of(Order.builder()
+            .orderStatus(OrderStatus.PENDING)
+            .paymentStatus(PaymentStatus.PENDING)
+            .deliveryMethod(DeliveryMethod.PICKUP)
+            .total(new BigDecimal("20.00"))
+            .build());
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CashShiftService cashShiftService;
+
+    @Autowired
+    private OpenCashShiftRegistry registry;
+
+    private Statistics statistics;
+    private CashShift open;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        open = persist(CashShiftStatus.OPEN);
+        registry.register(BUSINESS_ID, open.getId());
+        entityManager.clear();
+    }
+
+    @Test
+    void registeredShiftIsConfirmedByTheTotalsUpdateAlone() {
+        statistics.clear();
+        CashShift reference = cashShiftService.getOpenCashShiftReference(BUSINESS_ID);
+        CashShift assigned = cashShiftService.addNewOrder(BUSINESS_ID, reference, ORDER);
+
+        // Solo el UPDATE de totales: la caja no se consulta
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(assigned.getId()).isEqualTo(open.getId());
+        assertThat(orderCount(open)).isEqualTo(1L);
+    }
+
+    @Test
+    void staleRegistryFallsBackToTheShiftOpenInTheDatabase() {
+        // Otra instancia cerró la caja y abrió una nueva: este registro no se enteró
+        close(open);
+        CashShift reopened = persist(CashShiftStatus.OPEN);
+        entityManager.clear();
+
+        CashShift assigned = cashShiftService.addNewOrder(BUSINESS_ID,
+                cashShiftService.getOpenCashShiftReference(BUSINESS_ID), ORDER);
+
+        assertThat(assigned.getId()).isEqualTo(reopened.getId());
+        assertThat(orderCount(reopened)).isEqualTo(1L);
+        assertThat(orderCount(open)).isZero();
+        assertThat(registry.get(BUSINESS_ID)).contains(reopened.getId());
+    }
+
+    @Test
+    void staleRegistryWithoutOpenShiftRejectsTheOrder() {
+        close(open);
+        entityManager.clear();
+
+        CashShift reference = cashShiftService.getOpenCashShiftReference(BUSINESS_ID);
+
+        assertThatThrownBy(() -> cashShiftService.addNewOrder(BUSINESS_ID, reference, ORDER))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(registry.get(BUSINESS_ID)).isEmpty();
+    }
+
+    private CashShift persist(CashShiftStatus status) {
+        return entityManager.persistAndFlush(CashShift.builder()
+                .businessId(BUSINESS_ID)
+                .status(status)
+                .startDate(LocalDateTime.now())
+                .startAmount(BigDecimal.TEN)
+                .totals(CashShiftTotals.zero())
+                .build());
+    }
+
+    private void close(CashShift cashShift) {
+        CashShift managed = entityManager.find(CashShift.class, cashShift.getId());
+        managed.setStatus(CashShiftStatus.CLOSED);
+        entityManager.flush();
+    }
+
+    private Long orderCount(CashShift cashShift) {
+        entityManager.clear();
+        return entityManager.find(CashShift.class, cashShift.getId()).getTotals().getOrderCount();
+    }
+}
@@ -0,0 +1,156 @@
+package com.pizzeria.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.pizzeria.backend.dto.order.BulkOrderStatusRequest;
+import com.pizzeria.backend.dto.order.BulkOrderStatusResponse.OrderVersion;
+import com.pizzeria.backend.dto.order.CreateOrderRequest;
+import com.pizzeria.backend.dto.order.OrderItemRequest;
+import com.pizzeria.backend.dto.order.UpdateOrderStatusRequest;
+import com.pizzeria.backend.mapper.OrderMapperImpl;
+import com.pizzeria.backend.model.Product;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+import com.pizzeria.backend.repository.OrderRepository;
+import com.pizzeria.backend.repository.ProductRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Verifica que el cambio de estado masivo toque solo los pedidos que cambian,
+ * con una cantidad fija de queries, y que mantenga los totales de la caja.
+ */
+@DataJpaTest(properties = {
+    "application.cash-shift.open-registry.max-size=100",
+    "application.cash-shift.open-registry.ttl=1m"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderService.class, OrderLifecycle.class, OrderCatalogResolver.class, CashShiftService.class,
+        OpenCashShiftRegistry.class, OrderMapperImpl.class})
+class OrderBulkStatusTest {
+
+    private static final Long BUSINESS_ID = 1L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CashShiftService cashShiftService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        cashShiftService.openCashShift(BUSINESS_ID, BigDecimal.TEN);
+        productId = productRepository.save(Product.builder()
+                .businessId(BUSINESS_ID)
+                .title("Muzza")
+                .price(new BigDecimal("10.00"))
+                .build()).getId();
+    }
+
+    @Test
+    void onlyChangedOrdersAreUpdatedInOneStatement() {
+        Long first = createOrder();
+        Long second = createOrder();
+        Long alreadyReady = createOrder();
+        orderService.updateOrderStatus(BUSINESS_ID, alreadyReady, new UpdateOrderStatusRequest(OrderStatus.READY, null), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        var response = orderService.updateOrderStatuses(BUSINESS_ID,
+                new BulkOrderStatusRequest(List.of(first, second, alreadyReady), OrderStatus.READY, null));
+
+        assertThat(response.changed()).containsExactly(new OrderVersion(first, 1L), new OrderVersion(second, 1L));
+        // Cajas del lote + lock de cajas + SELECT ... FOR UPDATE + UPDATE + relectura con detalles
+        // (READY no mueve totales)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(orderRepository.findAllById(List.of(first, second, alreadyReady)))
+                .allSatisfy(order -> assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.READY));
+        assertThat(orderRepository.findById(alreadyReady).orElseThrow().getVersion()).isEqualTo(1L);
+        // Las horas del UPDATE masivo siguen a OrderLifecycle: solo cambian las de los pedidos movidos
+        var movedAt = orderRepository.findById(first).orElseThrow().getStatusChangedAt();
+        assertThat(orderRepository.findById(second).orElseThrow().getStatusChangedAt()).isEqualTo(movedAt);
+        assertThat(orderRepository.findById(alreadyReady).orElseThrow().getStatusChangedAt()).isBefore(movedAt);
+        assertThat(orderRepository.findById(first).orElseThrow().getPaidAt()).isNull();
+    }
+
+    @Test
+    void bulkCancellationAndPaymentKeepCashShiftTotals() {
+        Long first = createOrder();
+        Long second = createOrder();
+        Long third = createOrder();
+
+        orderService.updateOrderStatuses(BUSINESS_ID,
+                new BulkOrderStatusRequest(List.of(first, second), OrderStatus.CANCELLED, null));
+        orderService.updateOrderStatuses(BUSINESS_ID,
+                new BulkOrderStatusRequest(List.of(third), null, PaymentStatus.PAID));
+        entityManager.clear();
+
+        assertThat(orderRepository.findById(third).orElseThrow().getPaidAt()).isNotNull();
+        var totals = cashShiftService.getOpenCashShift(BUSINESS_ID).getTotals();
+        assertThat(totals.getOrderCount()).isEqualTo(1L);
+        assertThat(totals.getGrossTotal()).isEqualByComparingTo("20.00");
+        assertThat(totals.totalFor(PaymentStatus.PAID)).isEqualByComparingTo("20.00");
+        assertThat(totals.totalFor(PaymentStatus.PENDING)).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void finalOrderRejectsTheWholeBatch() {
+        Long pending = createOrder();
+        Long delivered = createOrder();
+        orderService.updateOrderStatus(BUSINESS_ID, delivered, new UpdateOrderStatusRequest(OrderStatus.DELIVERED, null), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThatThrownBy(() -> orderService.updateOrderStatuses(BUSINESS_ID,
+                new BulkOrderStatusRequest(List.of(pending, delivered), OrderStatus.PREPARING, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(delivered.toString());
+        assertThat(orderRepository.findById(pending).orElseThrow().getOrderStatus()).isEqualTo(OrderStatus.PENDING);
+    }
+
+    @Test
+    void orderOfAnotherBusinessIsNotFound() {
+        Long order = createOrder();
+
+        assertThatThrownBy(() -> orderService.updateOrderStatuses(2L,
+                new BulkOrderStatusRequest(List.of(order), OrderStatus.READY, null)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private Long createOrder() {
+        return orderService.createOrder(BUSINESS_ID, new CreateOrderRequest(null, null, null, DeliveryMethod.PICKUP,
+                PaymentMethod.CASH, null, List.of(new OrderItemRequest(productId, null, 2)), null)).id();
+    }
+}
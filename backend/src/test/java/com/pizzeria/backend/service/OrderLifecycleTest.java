@@ -0,0 +1,107 @@
+package com.pizzeria.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+
+/**
+ * Verifica la tabla de transiciones de los pedidos, que un cambio no permitido
+ * no toque el pedido y que validar no cree objetos (sin Spring ni BD).
+ */
+class OrderLifecycleTest {
+
+    private final List<Object> events = new ArrayList<>();
+    private OrderLifecycle lifecycle;
+
+    @BeforeEach
+    void setUp() {
+        lifecycle = new OrderLifecycle(events::add);
+    }
+
+    @Test
+    void finalStatesCannotGoBack() {
+        assertThat(OrderLifecycle.canMove(OrderStatus.READY, OrderStatus.PREPARING)).isTrue();
+        assertThat(OrderLifecycle.canMove(OrderStatus.PENDING, OrderStatus.DELIVERED)).isTrue();
+        assertThat(OrderLifecycle.canMove(OrderStatus.DELIVERED, OrderStatus.PENDING)).isFalse();
+        assertThat(OrderLifecycle.canMove(OrderStatus.CANCELLED, OrderStatus.READY)).isFalse();
+        assertThat(OrderLifecycle.canMove(OrderStatus.DELIVERED, OrderStatus.DELIVERED)).isTrue();
+        assertThat(OrderLifecycle.canMove(PaymentStatus.PAID, PaymentStatus.PENDING)).isTrue();
+    }
+
+    @Test
+    void applyStampsTimesAndPublishesTheTransition() {
+        Order order = order(OrderStatus.PENDING, PaymentStatus.PENDING);
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 21, 30);
+
+        assertThat(lifecycle.apply(order, OrderStatus.READY, PaymentStatus.PAID, now)).isTrue();
+
+        assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.READY);
+        assertThat(order.getStatusChangedAt()).isEqualTo(now);
+        assertThat(order.getPaidAt()).isEqualTo(now);
+        assertThat(events).containsExactly(new OrderStatusChangedEvent(1L, "PENDING", OrderStatus.READY, 1));
+        // Sin cambios: ni horas ni evento
+        assertThat(lifecycle.apply(order, OrderStatus.READY, null, now.plusMinutes(5))).isFalse();
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void illegalMoveLeavesTheOrderUntouched() {
+        Order order = order(OrderStatus.DELIVERED, PaymentStatus.PENDING);
+
+        assertThatThrownBy(() -> lifecycle.apply(order, OrderStatus.PENDING, PaymentStatus.PAID, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("DELIVERED a PENDING");
+        assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(order.getPaymentStatus()).isEqualTo(PaymentStatus.PENDING);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void validationDoesNotAllocate() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        OrderStatus[] statuses = OrderStatus.values();
+        int allowed = countAllowed(statuses);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            allowed += countAllowed(statuses);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(allowed).isPositive();
+        // Margen para la propia medición; 250.000 validaciones con un objeto cada una serían MBs
+        assertThat(allocated).isLessThan(4_096);
+    }
+
+    private static int countAllowed(OrderStatus[] statuses) {
+        int allowed = 0;
+        for (OrderStatus from : statuses) {
+            for (OrderStatus to : statuses) {
+                if (OrderLifecycle.canMove(from, to)) {
+                    allowed++;
+                }
+            }
+        }
+        return allowed;
+    }
+
+    private static Order order(OrderStatus orderStatus, PaymentStatus paymentStatus) {
+        return Order.builder()
+                .id(5L)
+                .businessId(1L)
+                .orderStatus(orderStatus)
+                .paymentStatus(paymentStatus)
+                .build();
+    }
+}
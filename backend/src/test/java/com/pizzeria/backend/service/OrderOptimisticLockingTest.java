@@ -0,0 +1,158 @@
+package com.pizzeria.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pizzeria.backend.dto.order.CreateOrderRequest;
+import com.pizzeria.backend.dto.order.OrderItemRequest;
+import com.pizzeria.backend.dto.order.OrderResponse;
+import com.pizzeria.backend.dto.order.UpdateOrderDetailsRequest;
+import com.pizzeria.backend.dto.order.UpdateOrderStatusRequest;
+import com.pizzeria.backend.mapper.OrderMapperImpl;
+import com.pizzeria.backend.model.CashShift;
+import com.pizzeria.backend.model.Order;
+import com.pizzeria.backend.model.Product;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.OrderStatus;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+import com.pizzeria.backend.model.enums.PaymentStatus;
+import com.pizzeria.backend.repository.CashShiftRepository;
+import com.pizzeria.backend.repository.OrderRepository;
+import com.pizzeria.backend.repository.ProductRepository;
+
+/**
+ * Verifica que dos ediciones del mismo pedido no se pisen sin bloquear filas:
+ * If-Match vencido, UPDATE con versión vieja y cierre de caja con totales leídos
+ * antes de un pedido nuevo.
+ *
+ * Sin transacción de test: cada edición hace commit como en producción.
+ */
+@DataJpaTest(properties = {
+    "application.cash-shift.open-registry.max-size=100",
+    "application.cash-shift.open-registry.ttl=1m"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderService.class, OrderLifecycle.class, OrderCatalogResolver.class, CashShiftService.class,
+        OpenCashShiftRegistry.class, OrderMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderOptimisticLockingTest {
+
+    private static final Long BUSINESS_ID = 1L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CashShiftService cashShiftService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CashShiftRepository cashShiftRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        cashShiftService.openCashShift(BUSINESS_ID, BigDecimal.TEN);
+        productId = productRepository.save(Product.builder()
+                .businessId(BUSINESS_ID)
+                .title("Muzza")
+                .price(new BigDecimal("10.00"))
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        cashShiftRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void staleIfMatchIsRejected() {
+        OrderResponse created = createOrder();
+
+        OrderResponse preparing = orderService.updateOrderStatus(BUSINESS_ID, created.id(),
+                new UpdateOrderStatusRequest(OrderStatus.PREPARING, null), created.version());
+
+        assertThat(preparing.version()).isEqualTo(created.version() + 1);
+        // Otro terminal con la versión vieja
+        assertThatThrownBy(() -> orderService.updateOrderDetails(BUSINESS_ID, created.id(),
+                new UpdateOrderDetailsRequest(PaymentStatus.PAID, null, null), created.version()))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(orderRepository.findById(created.id()).orElseThrow().getPaymentStatus())
+                .isEqualTo(PaymentStatus.PENDING);
+    }
+
+    @Test
+    void concurrentEditLosesWithoutLockingTheRow() {
+        Long orderId = createOrder().id();
+        TransactionTemplate first = new TransactionTemplate(transactionManager);
+        TransactionTemplate second = new TransactionTemplate(transactionManager);
+        second.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertThatThrownBy(() -> first.executeWithoutResult(status -> {
+            Order stale = orderRepository.findById(orderId).orElseThrow();
+            // Mientras tanto otro terminal cobra el pedido y hace commit
+            second.executeWithoutResult(inner -> orderService.updateOrderDetails(BUSINESS_ID, orderId,
+                    new UpdateOrderDetailsRequest(PaymentStatus.PAID, null, null), null));
+            stale.setOrderStatus(OrderStatus.CANCELLED);
+            orderRepository.saveAndFlush(stale);
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        assertThat(order.getPaymentStatus()).isEqualTo(PaymentStatus.PAID);
+        assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.PENDING);
+    }
+
+    @Test
+    void savingACashShiftDoesNotOverwriteLiveTotals() {
+        TransactionTemplate first = new TransactionTemplate(transactionManager);
+        TransactionTemplate second = new TransactionTemplate(transactionManager);
+        second.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        first.executeWithoutResult(status -> {
+            CashShift stale = cashShiftRepository.findOpenCashShift(BUSINESS_ID).orElseThrow();
+            // Un pedido suma a los totales después de la lectura
+            second.executeWithoutResult(inner -> createOrder());
+            stale.setStartAmount(new BigDecimal("50.00"));
+            cashShiftRepository.saveAndFlush(stale);
+        });
+
+        CashShift cashShift = cashShiftRepository.findOpenCashShift(BUSINESS_ID).orElseThrow();
+        assertThat(cashShift.getStartAmount()).isEqualByComparingTo("50.00");
+        assertThat(cashShift.getTotals().getOrderCount()).isEqualTo(1L);
+    }
+
+    private OrderResponse createOrder() {
+        return orderService.createOrder(BUSINESS_ID, new CreateOrderRequest(null, null, null, DeliveryMethod.PICKUP,
+                PaymentMethod.CASH, null, List.of(new OrderItemRequest(productId, null, 2)), null));
+    }
+}
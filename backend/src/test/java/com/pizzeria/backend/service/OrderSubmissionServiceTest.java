@@ -0,0 +1,169 @@
+package com.pizzeria.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.pizzeria.backend.dto.order.CreateOrderRequest;
+import com.pizzeria.backend.dto.order.OrderItemRequest;
+import com.pizzeria.backend.mapper.OrderMapper;
+import com.pizzeria.backend.mapper.OrderMapperImpl;
+import com.pizzeria.backend.model.Product;
+import com.pizzeria.backend.model.enums.DeliveryMethod;
+import com.pizzeria.backend.model.enums.PaymentMethod;
+import com.pizzeria.backend.repository.CashShiftRepository;
+import com.pizzeria.backend.repository.OrderIdempotencyKeyRepository;
+import com.pizzeria.backend.repository.OrderRepository;
+import com.pizzeria.backend.repository.ProductRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica que un reintento con la misma Idempotency-Key devuelva el pedido ya
+ * creado sin volver a escribir, también desde la tabla (otra instancia o
+ * reinicio) y con dos reintentos simultáneos.
+ *
+ * Sin transacción de test: cada alta hace commit como en producción.
+ */
+@DataJpaTest(properties = {
+    "application.cash-shift.open-registry.max-size=100",
+    "application.cash-shift.open-registry.ttl=1m",
+    "application.idempotency.orders.max-size=100",
+    "application.idempotency.orders.ttl=1h",
+    "application.idempotency.orders.purge-interval=1h"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderSubmissionService.class, OrderIdempotencyStore.class, OrderService.class, OrderLifecycle.class,
+        OrderCatalogResolver.class, CashShiftService.class, OpenCashShiftRegistry.class, OrderMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderSubmissionServiceTest {
+
+    private static final Long BUSINESS_ID = 1L;
+
+    @Autowired
+    private OrderSubmissionService submissionService;
+
+    @Autowired
+    private CashShiftService cashShiftService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderIdempotencyKeyRepository keyRepository;
+
+    @Autowired
+    private CashShiftRepository cashShiftRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private CreateOrderRequest request;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cashShiftService.openCashShift(BUSINESS_ID, BigDecimal.TEN);
+        Product product = productRepository.save(Product.builder()
+                .businessId(BUSINESS_ID)
+                .title("Muzza")
+                .price(new BigDecimal("10.00"))
+                .build());
+        request = order(product.getId(), 2);
+        // Como un terminal: una clave nueva por pedido (la memoria del store sobrevive entre tests)
+        key = UUID.randomUUID().toString();
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyRepository.deleteAll();
+        orderRepository.deleteAll();
+        cashShiftRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void retryReturnsTheCreatedOrderWithoutTouchingTheDatabase() {
+        var first = submissionService.submit(BUSINESS_ID, request, key);
+
+        statistics.clear();
+        var retry = submissionService.submit(BUSINESS_ID, request, key);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.order()).isEqualTo(first.order());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void storedKeyIsHonouredByAnotherInstance() {
+        var first = submissionService.submit(BUSINESS_ID, request, key);
+
+        // Otra instancia (o un reinicio): memoria vacía, misma tabla
+        OrderIdempotencyStore otherInstance = new OrderIdempotencyStore(
+                keyRepository, orderRepository, orderMapper, 100, Duration.ofHours(1));
+
+        assertThat(otherInstance.find(BUSINESS_ID, key, OrderSubmissionService.requestHash(request)))
+                .hasValueSatisfying(order -> assertThat(order.id()).isEqualTo(first.order().id()));
+    }
+
+    @Test
+    void sameKeyWithAnotherOrderIsRejected() {
+        submissionService.submit(BUSINESS_ID, request, key);
+        CreateOrderRequest other = order(request.items().get(0).productId(), 3);
+
+        assertThatThrownBy(() -> submissionService.submit(BUSINESS_ID, other, key))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentRetriesCreateASingleOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            var first = CompletableFuture.supplyAsync(() -> submissionService.submit(BUSINESS_ID, request, key), executor);
+            var second = CompletableFuture.supplyAsync(() -> submissionService.submit(BUSINESS_ID, request, key), executor);
+
+            assertThat(first.join().order().id()).isEqualTo(second.join().order().id());
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(cashShiftService.getOpenCashShift(BUSINESS_ID).getTotals().getOrderCount()).isEqualTo(1L);
+    }
+
+    private static CreateOrderRequest order(Long productId, int quantity) {
+        return new CreateOrderRequest(null, null, null, DeliveryMethod.PICKUP, PaymentMethod.CASH, null,
+                List.of(new OrderItemRequest(productId, null, quantity)), null);
+    }
+}
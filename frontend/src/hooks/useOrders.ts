@@ -20,6 +20,13 @@ interface UseOrdersReturn {
     cancelOrder: (orderId: number) => Promise<boolean>;
 }
 
+// Reemplaza el pedido si ya está en la lista; si no, lo agrega al inicio
+function upsertOrder(orders: OrderResponse[], order: OrderResponse): OrderResponse[] {
+    return orders.some(o => o.id === order.id)
+        ? orders.map(o => (o.id === order.id ? order : o))
+        : [order, ...orders];
+}
+
 /**
  * Hook para gestión completa de órdenes
  */
@@ -59,6 +66,15 @@ export function useOrders(businessId: number | undefined): UseOrdersReturn {
         }
     }, [businessId, loadOrders]);
 
+    // Tablero en vivo: aplica los cambios que llegan por SSE (de esta u otras pantallas)
+    useEffect(() => {
+        if (!businessId) return;
+        return OrderService.streamOrders(businessId, {
+            onOrder: ({ order }) => setOrders(prev => upsertOrder(prev, order)),
+            onResync: () => { loadOrders(); }
+        });
+    }, [businessId, loadOrders]);
+
     /**
      * Crear nueva orden
      */
@@ -67,7 +83,7 @@ export function useOrders(businessId: number | undefined): UseOrdersReturn {
 
         try {
             const newOrder = await OrderService.createOrder(businessId, data);
-            setOrders(prev => [newOrder, ...prev]); // Agregar al inicio
+            setOrders(prev => upsertOrder(prev, newOrder)); // Al inicio (si el evento SSE no llegó antes)
             toast.success('Pedido creado', {
                 description: `#${newOrder.id} creado correctamente`
             });
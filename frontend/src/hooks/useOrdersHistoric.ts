@@ -1,6 +1,6 @@
 /**
  * Hook custom para gestión de historial de órdenes
- * Carga TODAS las órdenes sin filtro de caja
+ * Carga las órdenes sin filtro de caja, página por página
  */
 
 import { useState, useEffect, useCallback } from 'react';
@@ -15,21 +15,24 @@ interface UseOrdersHistoricReturn {
     cashShifts: CashShiftResponse[];
     loading: boolean;
     error: string | null;
+    hasMore: boolean;
     loadOrdersHistoric: () => Promise<void>;
+    loadMore: () => Promise<void>;
 }
 
 /**
  * Hook para gestión del historial de órdenes
- * Carga todas las órdenes del negocio sin filtro de caja abierta
+ * Carga las órdenes del negocio sin filtro de caja abierta (paginadas por cursor)
  */
 export function useOrdersHistoric(businessId: number | undefined): UseOrdersHistoricReturn {
     const [orders, setOrders] = useState<OrderResponse[]>([]);
     const [cashShifts, setCashShifts] = useState<CashShiftResponse[]>([]);
     const [loading, setLoading] = useState(false);
     const [error, setError] = useState<string | null>(null);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
 
     /**
-     * Cargar todas las órdenes del historial
+     * Cargar la primera página del historial
      */
     const loadOrdersHistoric = useCallback(async () => {
         if (!businessId) return;
@@ -42,7 +45,8 @@ export function useOrdersHistoric(businessId: number | undefined): UseOrdersHist
                 OrderService.getOrdersHistoric(businessId),
                 CashShiftService.getAllCashShifts(businessId)
             ]);
-            setOrders(ordersData);
+            setOrders(ordersData.items);
+            setNextCursor(ordersData.nextCursor);
             setCashShifts(cashShiftsData);
         } catch (err: any) {
             const message = err.response?.data?.message || 'Error al cargar historial de órdenes';
@@ -53,6 +57,28 @@ export function useOrdersHistoric(businessId: number | undefined): UseOrdersHist
         }
     }, [businessId]);
 
+    /**
+     * Cargar la siguiente página y agregarla al final
+     */
+    const loadMore = useCallback(async () => {
+        if (!businessId || !nextCursor) return;
+
+        setLoading(true);
+        setError(null);
+
+        try {
+            const page = await OrderService.getOrdersHistoric(businessId, { cursor: nextCursor });
+            setOrders((prev) => [...prev, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (err: any) {
+            const message = err.response?.data?.message || 'Error al cargar historial de órdenes';
+            setError(message);
+            toast.error(message);
+        } finally {
+            setLoading(false);
+        }
+    }, [businessId, nextCursor]);
+
     // Cargar órdenes al montar o cambiar businessId
     useEffect(() => {
         if (businessId) {
@@ -60,6 +86,7 @@ export function useOrdersHistoric(businessId: number | undefined): UseOrdersHist
         } else {
             // Limpiar órdenes si no hay negocio seleccionado
             setOrders([]);
+            setNextCursor(null);
         }
     }, [businessId, loadOrdersHistoric]);
 
@@ -68,6 +95,8 @@ export function useOrdersHistoric(businessId: number | undefined): UseOrdersHist
         cashShifts,
         loading,
         error,
-        loadOrdersHistoric
+        hasMore: nextCursor !== null,
+        loadOrdersHistoric,
+        loadMore
     };
 }
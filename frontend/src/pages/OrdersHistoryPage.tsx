@@ -11,7 +11,7 @@ import { OrdersHistoryView } from '../components/OrdersHistoryView';
 
 export default function OrdersHistoryPage() {
     const { currentBusiness } = useBusiness();
-    const { orders, cashShifts, loading, loadOrdersHistoric } = useOrdersHistoric(currentBusiness?.id);
+    const { orders, cashShifts, loading, hasMore, loadOrdersHistoric, loadMore } = useOrdersHistoric(currentBusiness?.id);
 
     // No necesitamos useEffect aquí porque useOrders ya se encarga de cargar
     // cuando cambia currentBusiness?.id
@@ -48,6 +48,19 @@ export default function OrdersHistoryPage() {
                     cashShifts={cashShifts}
                     loading={loading}
                 />
+
+                {hasMore && (
+                    <div className="flex justify-center">
+                        <Button
+                            variant="outline"
+                            onClick={loadMore}
+                            disabled={loading}
+                            className="border-[#E5D9D1]"
+                        >
+                            Cargar más pedidos
+                        </Button>
+                    </div>
+                )}
             </div>
         </div>
     );
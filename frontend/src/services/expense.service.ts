@@ -1,5 +1,6 @@
 import client from '../api/client';
 import type { Expense, ExpenseRequest } from '../types/expense.types';
+import type { CursorPage } from '../types/order.types';
 
 /**
  * Servicio para gestionar Gastos/Facturas
@@ -14,6 +15,14 @@ export const ExpenseService = {
         return response.data;
     },
 
+    // Listar gastos paginados (más recientes primero); para seguir se reenvía nextCursor
+    getExpensesPage: async (businessId: number, cursor?: string | null, size = 50) => {
+        const response = await client.get<CursorPage<Expense>>('/expenses/page', {
+            params: { businessId, cursor: cursor ?? undefined, size }
+        });
+        return response.data;
+    },
+
     // Obtener un gasto específico con sus items
     getExpenseById: async (businessId: number, expenseId: number) => {
         const response = await client.get<Expense>(`/expenses/${expenseId}`, {
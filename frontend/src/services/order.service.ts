@@ -4,7 +4,21 @@
  */
 
 import apiClient from '../api/client';
-import type { OrderResponse, CreateOrderRequest, OrderStatus } from '../types/order.types';
+import type { OrderResponse, CreateOrderRequest, OrderStatus, CursorPage, OrderHistoryParams, OrderEvent } from '../types/order.types';
+
+// Espera antes de reconectar el tablero en vivo si se corta la conexión
+const STREAM_RECONNECT_DELAY_MS = 3000;
+
+export interface OrderStreamHandlers {
+    onOrder: (event: OrderEvent) => void;
+    onResync: () => void; // El servidor ya no tiene lo que se perdió: recargar la lista
+}
+
+interface ServerSentEvent {
+    id: string | null;
+    event: string;
+    data: string;
+}
 
 export const OrderService = {
     /**
@@ -18,11 +32,12 @@ export const OrderService = {
     },
 
     /**
-     * Obtener el historial completo de órdenes (todas las cajas)
+     * Obtener una página del historial de órdenes (todas las cajas)
+     * Para la siguiente página se pasa el nextCursor recibido
      */
-    async getOrdersHistoric(businessId: number): Promise<OrderResponse[]> {
-        const response = await apiClient.get<OrderResponse[]>('/orders/historic', {
-            params: { businessId }
+    async getOrdersHistoric(businessId: number, params: OrderHistoryParams = {}): Promise<CursorPage<OrderResponse>> {
+        const response = await apiClient.get<CursorPage<OrderResponse>>('/orders/historic', {
+            params: { businessId, ...params }
         });
         return response.data;
     },
@@ -70,6 +85,62 @@ export const OrderService = {
         return response.data;
     },
 
+    /**
+     * Escuchar los cambios de pedidos en vivo (GET /api/orders/stream, Server-Sent Events)
+     *
+     * Usa fetch y no EventSource porque EventSource no puede mandar el header Authorization.
+     * Si se corta, reconecta con Last-Event-ID y el servidor reenvía lo que se perdió;
+     * si ya no lo tiene, llega "resync" y se llama a onResync.
+     * Devuelve la función que cierra la conexión.
+     */
+    streamOrders(businessId: number, handlers: OrderStreamHandlers): () => void {
+        const controller = new AbortController();
+        let lastEventId: string | null = null;
+
+        const connect = async () => {
+            while (!controller.signal.aborted) {
+                try {
+                    const headers: Record<string, string> = { Accept: 'text/event-stream' };
+                    const token = localStorage.getItem('jwt_token');
+                    if (token) {
+                        headers.Authorization = `Bearer ${token}`;
+                    }
+                    if (lastEventId) {
+                        headers['Last-Event-ID'] = lastEventId;
+                    }
+
+                    const response = await fetch(
+                        `${apiClient.defaults.baseURL}/orders/stream?businessId=${businessId}`,
+                        { headers, signal: controller.signal }
+                    );
+                    // Sin sesión no se reintenta: el próximo request de axios lleva al login
+                    if (response.status === 401 || response.status === 403) return;
+                    if (!response.ok || !response.body) {
+                        throw new Error(`HTTP ${response.status}`);
+                    }
+
+                    await readServerSentEvents(response.body, ({ id, event, data }) => {
+                        if (id) {
+                            lastEventId = id;
+                        }
+                        if (event === 'order') {
+                            handlers.onOrder(JSON.parse(data) as OrderEvent);
+                        } else if (event === 'resync') {
+                            handlers.onResync();
+                        }
+                    });
+                } catch {
+                    // Conexión cortada: se reintenta abajo (salvo que se haya cerrado a propósito)
+                }
+                if (controller.signal.aborted) return;
+                await new Promise(resolve => setTimeout(resolve, STREAM_RECONNECT_DELAY_MS));
+            }
+        };
+
+        connect();
+        return () => controller.abort();
+    },
+
     /**
      * Eliminar (cancelar) una orden
      */
@@ -82,3 +153,41 @@ export const OrderService = {
         return response.data;
     }
 };
+
+/**
+ * Lee un cuerpo text/event-stream hasta que el servidor lo cierra
+ * (eventos separados por una línea en blanco; las líneas ":" son comentarios / ping)
+ */
+async function readServerSentEvents(
+    body: ReadableStream<Uint8Array>,
+    onEvent: (event: ServerSentEvent) => void
+): Promise<void> {
+    const reader = body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+
+    for (;;) {
+        const { value, done } = await reader.read();
+        if (done) return;
+
+        buffer += value;
+        const blocks = buffer.split(/\r?\n\r?\n/);
+        buffer = blocks.pop() ?? '';
+
+        for (const block of blocks) {
+            const event: ServerSentEvent = { id: null, event: 'message', data: '' };
+            const data: string[] = [];
+            for (const line of block.split(/\r?\n/)) {
+                if (line === '' || line.startsWith(':')) continue;
+                const separator = line.indexOf(':');
+                const field = separator < 0 ? line : line.slice(0, separator);
+                const fieldValue = separator < 0 ? '' : line.slice(separator + 1).replace(/^ /, '');
+                if (field === 'id') event.id = fieldValue;
+                else if (field === 'event') event.event = fieldValue;
+                else if (field === 'data') data.push(fieldValue);
+            }
+            if (event.id === null && data.length === 0) continue;
+            event.data = data.join('\n');
+            onEvent(event);
+        }
+    }
+}
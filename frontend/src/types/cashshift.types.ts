@@ -2,6 +2,8 @@
  * Tipos para CashShift (Apertura y Cierre de Caja)
  */
 
+import type { DeliveryMethod, PaymentMethod, PaymentStatus } from './order.types';
+
 export type CashShiftStatus = 'OPEN' | 'CLOSED';
 
 export interface CashShiftResponse {
@@ -11,6 +13,12 @@ export interface CashShiftResponse {
     endDate: string | null;
     startAmount: number;
     endAmount: number | null;
+    // Totales en vivo de la caja (sin cancelados); null en cajas anteriores a los totales
+    orderCount: number | null;
+    grossTotal: number | null;
+    totalsByPaymentMethod: Record<PaymentMethod, number> | null;
+    totalsByPaymentStatus: Record<PaymentStatus, number> | null;
+    totalsByDeliveryMethod: Record<DeliveryMethod, number> | null;
 }
 
 export interface OpenCashShiftRequest {
@@ -61,6 +61,30 @@ export interface OrderResponse {
     items: OrderItemResponse[];
 }
 
+// Cambio de un pedido recibido por el tablero en vivo (GET /orders/stream)
+export interface OrderEvent {
+    type: 'CREATED' | 'UPDATED';
+    order: OrderResponse; // Estado del pedido luego del cambio
+}
+
+// Página con paginación por cursor (GET /orders/historic)
+export interface CursorPage<T> {
+    items: T[];
+    nextCursor: string | null; // null = no hay más páginas
+}
+
+// Filtros opcionales del historial
+export interface OrderHistoryParams {
+    cursor?: string;
+    size?: number;
+    orderStatus?: OrderStatus;
+    paymentMethod?: PaymentMethod;
+    deliveryMethod?: DeliveryMethod;
+    customerId?: number;
+    from?: string; // ISO date-time
+    to?: string;   // ISO date-time
+}
+
 // Request para crear un item
 export interface OrderItemRequest {
     productId?: number;